@@ -0,0 +1,37 @@
+package br.dev.mauriciocaminha.todolist.benchmark;
+
+import br.dev.mauriciocaminha.todolist.filters.BasicCredentials;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+// Authorization: Basic parsing as FilterTaskAuth used to do it (substring, Base64, new String, split) vs. BasicCredentials.parse; run with -prof gc for allocation
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class BasicCredentialsBenchmark {
+
+    private String header;
+
+    @Setup
+    public void setUp() {
+        header = "Basic " + Base64.getEncoder().encodeToString("john.doe@example.com:s3cret-password".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public String[] legacy() {
+        var encodedAuth = header.substring("Basic".length()).trim();
+        byte[] decodedAuth = Base64.getDecoder().decode(encodedAuth);
+        var authString = new String(decodedAuth);
+        return authString.split(":");
+    }
+
+    @Benchmark
+    public BasicCredentials parse() {
+        return BasicCredentials.parse(header);
+    }
+}
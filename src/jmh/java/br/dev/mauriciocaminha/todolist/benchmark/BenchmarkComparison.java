@@ -0,0 +1,138 @@
+package br.dev.mauriciocaminha.todolist.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files (-rf json) and prints a Markdown table
+ * meant to be pasted into, or posted on, a review.
+ *
+ * Usage: {@code BenchmarkComparison <baseline.json> <current.json> [threshold %] [report.md]}.
+ * A benchmark regresses when its score is worse than the baseline by more
+ * than the threshold and the two error intervals do not overlap; allocation
+ * per operation (gc.alloc.rate.norm, present when run with -prof gc) is
+ * compared the same way, since it barely varies between runs. The process
+ * exits with 1 when anything regressed, so a CI step can fail on it.
+ */
+public final class BenchmarkComparison {
+
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+    // Below this, allocation differences are TLAB and escape-analysis noise
+    private static final double ALLOCATION_SLACK_BYTES = 16;
+
+    private record Score(double value, double error, String unit) {
+    }
+
+    private record Result(String mode, Score primary, Score allocation) {
+    }
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <current.json> [threshold %] [report.md]");
+            System.exit(2);
+        }
+        var baseline = read(Path.of(args[0]));
+        var current = read(Path.of(args[1]));
+        var threshold = args.length > 2 ? Double.parseDouble(args[2]) / 100 : 0.10;
+
+        var rows = new ArrayList<String>();
+        var regressions = 0;
+        for (var entry : current.entrySet()) {
+            var before = baseline.get(entry.getKey());
+            var after = entry.getValue();
+            if (before == null) {
+                rows.add(row(entry.getKey(), after.mode(), null, after.primary(), "new"));
+                continue;
+            }
+
+            var lowerIsBetter = !"thrpt".equals(after.mode());
+            var verdict = verdict(before.primary(), after.primary(), threshold, lowerIsBetter, 0);
+            rows.add(row(entry.getKey(), after.mode(), before.primary(), after.primary(), verdict));
+            if (verdict.startsWith("REGRESSION")) regressions++;
+
+            if (before.allocation() != null && after.allocation() != null) {
+                verdict = verdict(before.allocation(), after.allocation(), threshold, true, ALLOCATION_SLACK_BYTES);
+                rows.add(row(entry.getKey(), "alloc", before.allocation(), after.allocation(), verdict));
+                if (verdict.startsWith("REGRESSION")) regressions++;
+            }
+        }
+        for (var key : baseline.keySet()) {
+            if (!current.containsKey(key)) {
+                rows.add(row(key, baseline.get(key).mode(), baseline.get(key).primary(), null, "not run"));
+            }
+        }
+
+        var report = new StringBuilder()
+                .append(String.format(Locale.ROOT, "### JMH comparison (threshold %.0f%%)%n%n", threshold * 100))
+                .append("| Benchmark | Mode | Baseline | Current | Change | Verdict |\n")
+                .append("|---|---|---:|---:|---:|---|\n");
+        rows.forEach(report::append);
+        report.append(String.format(Locale.ROOT, "%n%d regression(s)%n", regressions));
+
+        System.out.print(report);
+        if (args.length > 3) {
+            Files.writeString(Path.of(args[3]), report);
+        }
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    // The change must exceed both the threshold and the run-to-run error before it counts
+    private static String verdict(Score before, Score after, double threshold, boolean lowerIsBetter, double slack) {
+        var worse = lowerIsBetter ? after.value() - before.value() : before.value() - after.value();
+        var margin = before.error() + after.error() + slack;
+        if (worse > margin && worse > Math.abs(before.value()) * threshold) return "REGRESSION";
+        if (-worse > margin && -worse > Math.abs(before.value()) * threshold) return "improved";
+        return "ok";
+    }
+
+    private static String row(String benchmark, String mode, Score before, Score after, String verdict) {
+        var change = before == null || after == null || before.value() == 0
+                ? "" : String.format(Locale.ROOT, "%+.1f%%", (after.value() - before.value()) / before.value() * 100);
+        return String.format(Locale.ROOT, "| %s | %s | %s | %s | %s | %s |%n",
+                benchmark, mode, format(before), format(after), change, verdict);
+    }
+
+    private static String format(Score score) {
+        if (score == null) return "";
+        return score.error() == 0
+                ? String.format(Locale.ROOT, "%.3f %s", score.value(), score.unit())
+                : String.format(Locale.ROOT, "%.3f ± %.3f %s", score.value(), score.error(), score.unit());
+    }
+
+    // Keyed by benchmark name plus its @Param values, e.g. "TaskSerializationBenchmark.ndjson(tasks=100)"
+    private static Map<String, Result> read(Path file) throws IOException {
+        var results = new LinkedHashMap<String, Result>();
+        for (var node : new ObjectMapper().readTree(file.toFile())) {
+            var name = node.path("benchmark").asText();
+            var key = new StringBuilder(name.substring(name.lastIndexOf('.', name.lastIndexOf('.') - 1) + 1));
+            if (node.has("params")) {
+                var params = new TreeMap<String, String>();
+                node.get("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+                key.append(params.toString().replace('{', '(').replace('}', ')').replace(" ", ""));
+            }
+            var secondary = node.path("secondaryMetrics").path(ALLOCATION);
+            results.put(key.toString(), new Result(node.path("mode").asText(),
+                    score(node.path("primaryMetric")),
+                    secondary.isMissingNode() ? null : score(secondary)));
+        }
+        return results;
+    }
+
+    private static Score score(JsonNode metric) {
+        // JMH writes "NaN" as a string when there are too few iterations for an error estimate
+        var error = metric.path("scoreError").asDouble(0);
+        return new Score(metric.path("score").asDouble(), Double.isNaN(error) ? 0 : error, metric.path("scoreUnit").asText());
+    }
+}
@@ -0,0 +1,49 @@
+package br.dev.mauriciocaminha.todolist.benchmark;
+
+import at.favre.lib.crypto.bcrypt.BCrypt;
+import br.dev.mauriciocaminha.todolist.entities.UserModel;
+import br.dev.mauriciocaminha.todolist.service.AuthenticationService;
+import br.dev.mauriciocaminha.todolist.service.PasswordWorkerPool;
+import br.dev.mauriciocaminha.todolist.service.CredentialCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Repeated authenticated call: full bcrypt verify (cost 12) vs. verified-credential cache hit
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class CredentialCacheBenchmark {
+
+    private static final String USERNAME = "john";
+    private static final String PASSWORD = "s3cret-password";
+
+    private AuthenticationService authenticationService;
+    private CredentialCache credentialCache;
+    private UserModel user;
+
+    @Setup
+    public void setUp() {
+        authenticationService = new AuthenticationService(new PasswordWorkerPool(1, 16, Duration.ofSeconds(1), new SimpleMeterRegistry()), null, null, 12, Duration.ZERO);
+        user = new UserModel();
+        user.setPassword(BCrypt.withDefaults().hashToString(12, PASSWORD.toCharArray()));
+
+        credentialCache = new CredentialCache(Duration.ofMinutes(5), 10_000, new SimpleMeterRegistry());
+        credentialCache.put(USERNAME, PASSWORD, UUID.randomUUID(), credentialCache.epoch());
+    }
+
+    @Benchmark
+    public boolean bcryptVerify() {
+        return authenticationService.verifyPassword(user, PASSWORD);
+    }
+
+    @Benchmark
+    public UUID cacheHit() {
+        return credentialCache.get(USERNAME, PASSWORD);
+    }
+}
@@ -0,0 +1,111 @@
+package br.dev.mauriciocaminha.todolist.benchmark;
+
+import at.favre.lib.crypto.bcrypt.BCrypt;
+import br.dev.mauriciocaminha.todolist.entities.UserModel;
+import br.dev.mauriciocaminha.todolist.filters.FilterTaskAuth;
+import br.dev.mauriciocaminha.todolist.repository.UserRepository;
+import br.dev.mauriciocaminha.todolist.service.AuthenticationService;
+import br.dev.mauriciocaminha.todolist.service.CredentialCache;
+import br.dev.mauriciocaminha.todolist.service.LoginThrottle;
+import br.dev.mauriciocaminha.todolist.service.PasswordWorkerPool;
+import br.dev.mauriciocaminha.todolist.service.TokenService;
+import br.dev.mauriciocaminha.todolist.service.UserCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Whole FilterTaskAuth pass per request: verified-credential cache hit, session token, rejected header and a cache miss (bcrypt cost 4)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class FilterTaskAuthBenchmark {
+
+    private static final String PASSWORD = "s3cret-password";
+    private static final FilterChain CHAIN = (request, response) -> { };
+
+    private FilterTaskAuth cachedFilter;
+    private FilterTaskAuth uncachedFilter;
+    private MockHttpServletRequest basicRequest;
+    private MockHttpServletRequest bearerRequest;
+    private MockHttpServletRequest malformedRequest;
+
+    @Setup
+    public void setUp() {
+        var user = new UserModel();
+        user.setId(UUID.randomUUID());
+        user.setUsername("john");
+        // Low cost so the miss path shows the filter around bcrypt rather than bcrypt itself (see CredentialCacheBenchmark)
+        user.setPassword(BCrypt.withDefaults().hashToString(4, PASSWORD.toCharArray()));
+
+        var tokenService = new TokenService("", Duration.ofMinutes(15));
+
+        // A zero TTL expires every entry as soon as it is stored: each request verifies the password again
+        cachedFilter = filter(user, tokenService, Duration.ofMinutes(5));
+        uncachedFilter = filter(user, tokenService, Duration.ZERO);
+
+        var basic = "Basic " + Base64.getEncoder().encodeToString(("john:" + PASSWORD).getBytes());
+        basicRequest = request(basic);
+        bearerRequest = request("Bearer " + tokenService.issue(user.getId()));
+        malformedRequest = request("Basic not-base64!");
+    }
+
+    @Benchmark
+    public MockHttpServletResponse cachedBasic() throws Exception {
+        return run(cachedFilter, basicRequest);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse bearer() throws Exception {
+        return run(cachedFilter, bearerRequest);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse malformed() throws Exception {
+        return run(cachedFilter, malformedRequest);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse verifiedBasic() throws Exception {
+        return run(uncachedFilter, basicRequest);
+    }
+
+    private static MockHttpServletResponse run(FilterTaskAuth filter, MockHttpServletRequest request) throws Exception {
+        var response = new MockHttpServletResponse();
+        filter.doFilter(request, response, CHAIN);
+        return response;
+    }
+
+    private static FilterTaskAuth filter(UserModel user, TokenService tokenService, Duration credentialTtl) {
+        var registry = new SimpleMeterRegistry();
+        var userRepository = Stubs.repository(UserRepository.class,
+                (method, args) -> user.getUsername().equals(args[0]) ? user : null);
+
+        var filter = new FilterTaskAuth(registry);
+        ReflectionTestUtils.setField(filter, "userCache",
+                new UserCache(userRepository, Duration.ofMinutes(1), Duration.ofSeconds(10), 10_000, registry));
+        ReflectionTestUtils.setField(filter, "authenticationService", new AuthenticationService(
+                new PasswordWorkerPool(1, 16, Duration.ofSeconds(1), registry), userRepository, null, 4, Duration.ZERO));
+        ReflectionTestUtils.setField(filter, "credentialCache", new CredentialCache(credentialTtl, 10_000, registry));
+        ReflectionTestUtils.setField(filter, "tokenService", tokenService);
+        ReflectionTestUtils.setField(filter, "loginThrottle", new LoginThrottle(false, 20, Duration.ofSeconds(1),
+                5, Duration.ofSeconds(12), 100_000, registry));
+        return filter;
+    }
+
+    private static MockHttpServletRequest request(String authorization) {
+        var request = new MockHttpServletRequest("GET", "/tasks/");
+        request.setServletPath("/tasks/");
+        request.addHeader("Authorization", authorization);
+        return request;
+    }
+}
@@ -0,0 +1,61 @@
+package br.dev.mauriciocaminha.todolist.benchmark;
+
+import br.dev.mauriciocaminha.todolist.utils.TokenBucketLimiter;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Cost of one limiter check: allowed (hot key), refused (drained key) and spread over many keys, single and contended
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class LoginThrottleBenchmark {
+
+    private static final int KEYS = 4096;
+
+    private TokenBucketLimiter open;
+    private TokenBucketLimiter drained;
+    private String[] keys;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup
+    public void setUp() {
+        // Refill faster than any thread can ask: every check succeeds and goes through the CAS
+        open = new TokenBucketLimiter(1_000_000, Duration.ofNanos(1), 64, 100_000);
+        drained = new TokenBucketLimiter(1, Duration.ofHours(1), 64, 100_000);
+        drained.tryAcquire("john", System.nanoTime());
+
+        keys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "10.0." + (i >> 8) + "." + (i & 255);
+        }
+    }
+
+    @Benchmark
+    public long allowed() {
+        return open.tryAcquire("john", System.nanoTime());
+    }
+
+    @Benchmark
+    public long refused() {
+        return drained.tryAcquire("john", System.nanoTime());
+    }
+
+    @Benchmark
+    public long manyKeys(Cursor cursor) {
+        return open.tryAcquire(keys[cursor.next++ & (KEYS - 1)], System.nanoTime());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long allowedContended() {
+        return open.tryAcquire("john", System.nanoTime());
+    }
+}
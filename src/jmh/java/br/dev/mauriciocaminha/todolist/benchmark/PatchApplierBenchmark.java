@@ -0,0 +1,64 @@
+package br.dev.mauriciocaminha.todolist.benchmark;
+
+import br.dev.mauriciocaminha.todolist.entities.TaskModel;
+import br.dev.mauriciocaminha.todolist.entities.TaskPriority;
+import br.dev.mauriciocaminha.todolist.utils.PatchApplier;
+import br.dev.mauriciocaminha.todolist.utils.Utils;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.BeanUtils;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Partial update of a TaskModel: BeanWrapper introspection + BeanUtils vs. the precompiled PatchApplier, plus the Utils entry points
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PatchApplierBenchmark {
+
+    private static final PatchApplier<TaskModel> TASK_PATCH = PatchApplier.of(TaskModel.class);
+
+    private TaskModel patch;
+    private TaskModel target;
+
+    @Setup
+    public void setUp() throws Exception {
+        patch = new TaskModel();
+        patch.setTitle("new title");
+        patch.setPriority(TaskPriority.HIGH);
+        patch.setEndAt(LocalDateTime.now().plusDays(3));
+
+        target = new TaskModel();
+        target.setId(UUID.randomUUID());
+        target.setUserId(UUID.randomUUID());
+        target.setTitle("title");
+        target.setDescription("description");
+        target.setPriority(TaskPriority.LOW);
+    }
+
+    @Benchmark
+    public TaskModel reflective() {
+        BeanUtils.copyProperties(patch, target, Utils.getNullPropertyNames(patch));
+        return target;
+    }
+
+    @Benchmark
+    public TaskModel patchApplier() {
+        TASK_PATCH.apply(patch, target);
+        return target;
+    }
+
+    @Benchmark
+    public String[] nullPropertyNames() {
+        return Utils.getNullPropertyNames(patch);
+    }
+
+    @Benchmark
+    public TaskModel copyNonNullProperties() {
+        Utils.copyNonNullProperties(patch, target);
+        return target;
+    }
+}
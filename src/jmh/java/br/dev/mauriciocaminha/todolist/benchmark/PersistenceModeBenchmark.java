@@ -0,0 +1,123 @@
+package br.dev.mauriciocaminha.todolist.benchmark;
+
+import br.dev.mauriciocaminha.todolist.TodolistApplication;
+import br.dev.mauriciocaminha.todolist.entities.TaskModel;
+import br.dev.mauriciocaminha.todolist.entities.TaskPriority;
+import br.dev.mauriciocaminha.todolist.repository.TaskRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// TaskRepository operations on the in-memory database vs. the file-backed one of the prod profile (same pool settings)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class PersistenceModeBenchmark {
+
+    private static final int USERS = 1_000;
+    private static final int TASKS_PER_USER = 50;
+
+    @Param({"mem", "file"})
+    public String mode;
+
+    private ConfigurableApplicationContext context;
+    private TaskRepository taskRepository;
+    private Path directory;
+    private UUID userId;
+    private UUID taskId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        directory = Files.createTempDirectory("todolist-bench");
+        var url = mode.equals("file")
+                ? "jdbc:h2:file:" + directory.resolve("todolist") + ";DB_CLOSE_ON_EXIT=FALSE;QUERY_CACHE_SIZE=64"
+                : "jdbc:h2:mem:bench;DB_CLOSE_ON_EXIT=FALSE;QUERY_CACHE_SIZE=64";
+        context = new SpringApplicationBuilder(TodolistApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("prod")
+                .properties("spring.datasource.url=" + url, "todolist.db.warmup.iterations=0", "logging.level.root=WARN")
+                .run();
+        taskRepository = context.getBean(TaskRepository.class);
+
+        var start = LocalDateTime.now().plusDays(1);
+        for (int u = 0; u < USERS; u++) {
+            var owner = UUID.randomUUID();
+            var tasks = new ArrayList<TaskModel>(TASKS_PER_USER);
+            for (int i = 0; i < TASKS_PER_USER; i++) {
+                tasks.add(task(owner, i, start));
+            }
+            taskRepository.saveAll(tasks);
+            userId = owner;
+            taskId = tasks.get(0).getId();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (var file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static TaskModel task(UUID owner, int i, LocalDateTime start) {
+        var task = new TaskModel();
+        task.setUserId(owner);
+        try {
+            task.setTitle("task " + i);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        task.setDescription("description");
+        task.setPriority(TaskPriority.values()[i % 3]);
+        task.setStartAt(start);
+        task.setEndAt(start.plusDays(1 + i % 30));
+        return task;
+    }
+
+    @Benchmark
+    public List<TaskModel> findByUserId() {
+        return taskRepository.findByUserId(userId);
+    }
+
+    @Benchmark
+    public List<TaskModel> findByUserIdAndPriority() {
+        return taskRepository.findByUserIdAndPriority(userId, TaskPriority.HIGH);
+    }
+
+    @Benchmark
+    public Slice<TaskModel> firstPage() {
+        return taskRepository.findByUserIdOrderByCreatedAtAscIdAsc(userId, PageRequest.ofSize(20));
+    }
+
+    @Benchmark
+    public int update() {
+        return taskRepository.updateByIdAndUserId(taskId, userId, null, "edited", null, null, null, LocalDateTime.now());
+    }
+
+    // Insert and delete in pairs, so the table does not grow during the run
+    @Benchmark
+    public int insertAndDelete() {
+        var task = taskRepository.save(task(userId, 0, LocalDateTime.now().plusDays(1)));
+        return taskRepository.deleteByIdAndUserId(task.getId(), userId);
+    }
+}
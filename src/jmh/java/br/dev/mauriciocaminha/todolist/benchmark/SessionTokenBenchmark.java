@@ -0,0 +1,54 @@
+package br.dev.mauriciocaminha.todolist.benchmark;
+
+import at.favre.lib.crypto.bcrypt.BCrypt;
+import br.dev.mauriciocaminha.todolist.entities.UserModel;
+import br.dev.mauriciocaminha.todolist.service.AuthenticationService;
+import br.dev.mauriciocaminha.todolist.service.PasswordWorkerPool;
+import br.dev.mauriciocaminha.todolist.service.TokenService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Per-request auth cost: Basic header (decode + bcrypt cost 12) vs. signed session token
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class SessionTokenBenchmark {
+
+    private static final String PASSWORD = "s3cret-password";
+
+    private AuthenticationService authenticationService;
+    private TokenService tokenService;
+    private UserModel user;
+    private String basicHeader;
+    private String bearerHeader;
+
+    @Setup
+    public void setUp() {
+        authenticationService = new AuthenticationService(new PasswordWorkerPool(1, 16, Duration.ofSeconds(1), new SimpleMeterRegistry()), null, null, 12, Duration.ZERO);
+        tokenService = new TokenService("", Duration.ofMinutes(15));
+        user = new UserModel();
+        user.setPassword(BCrypt.withDefaults().hashToString(12, PASSWORD.toCharArray()));
+
+        basicHeader = authenticationService.generateBasicAuthHeader("john", PASSWORD);
+        bearerHeader = "Bearer " + tokenService.issue(UUID.randomUUID());
+    }
+
+    @Benchmark
+    public boolean basic() {
+        var encoded = basicHeader.substring("Basic".length()).trim();
+        var credentials = new String(Base64.getDecoder().decode(encoded)).split(":");
+        return authenticationService.verifyPassword(user, credentials[1]);
+    }
+
+    @Benchmark
+    public UUID bearer() {
+        return tokenService.verify(bearerHeader, "Bearer ".length(), bearerHeader.length());
+    }
+}
@@ -0,0 +1,27 @@
+package br.dev.mauriciocaminha.todolist.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.function.BiFunction;
+
+// In-memory stand-ins for Spring Data repositories, so service and filter benchmarks measure our code and not a mock framework
+final class Stubs {
+
+    private Stubs() {
+    }
+
+    // save/saveAll return their argument; any other method is answered by the given function (null = no result)
+    static <T> T repository(Class<T> type, BiFunction<String, Object[], Object> answers) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "save", "saveAll" -> args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> type.getSimpleName() + " stub";
+                    default -> answers.apply(method.getName(), args);
+                }));
+    }
+
+    static <T> T repository(Class<T> type) {
+        return repository(type, (method, args) -> null);
+    }
+}
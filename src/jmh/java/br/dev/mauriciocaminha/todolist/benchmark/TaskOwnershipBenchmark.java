@@ -0,0 +1,72 @@
+package br.dev.mauriciocaminha.todolist.benchmark;
+
+import br.dev.mauriciocaminha.todolist.TodolistApplication;
+import br.dev.mauriciocaminha.todolist.entities.TaskModel;
+import br.dev.mauriciocaminha.todolist.entities.TaskPriority;
+import br.dev.mauriciocaminha.todolist.repository.TaskRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Ownership-checked update: load + check in Java + save (select, merge-select, update) vs. one conditional UPDATE
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class TaskOwnershipBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private TaskRepository taskRepository;
+    private UUID userId;
+    private UUID taskId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(TodolistApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:ownership;DB_CLOSE_ON_EXIT=FALSE", "logging.level.root=WARN")
+                .run();
+        taskRepository = context.getBean(TaskRepository.class);
+
+        userId = UUID.randomUUID();
+        var task = new TaskModel();
+        task.setUserId(userId);
+        task.setTitle("title");
+        task.setDescription("description");
+        task.setPriority(TaskPriority.LOW);
+        task.setStartAt(LocalDateTime.now().plusDays(1));
+        task.setEndAt(LocalDateTime.now().plusDays(2));
+        taskId = taskRepository.save(task).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TaskModel loadCheckSave() {
+        var task = taskRepository.findById(taskId).orElseThrow();
+        if (!task.getUserId().equals(userId)) throw new SecurityException("Forbidden");
+        task.setEndAt(LocalDateTime.now());
+        return taskRepository.save(task);
+    }
+
+    @Benchmark
+    public int conditionalUpdate() {
+        return taskRepository.completeByIdAndUserId(taskId, userId, LocalDateTime.now());
+    }
+
+    @Benchmark
+    public TaskModel conditionalUpdateAndReload() {
+        taskRepository.completeByIdAndUserId(taskId, userId, LocalDateTime.now());
+        return taskRepository.findById(taskId).orElseThrow();
+    }
+}
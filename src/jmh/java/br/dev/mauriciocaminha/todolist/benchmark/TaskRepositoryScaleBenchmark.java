@@ -0,0 +1,87 @@
+package br.dev.mauriciocaminha.todolist.benchmark;
+
+import br.dev.mauriciocaminha.todolist.TodolistApplication;
+import br.dev.mauriciocaminha.todolist.entities.TaskModel;
+import br.dev.mauriciocaminha.todolist.entities.TaskPriority;
+import br.dev.mauriciocaminha.todolist.repository.TaskRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Per-user lookups while tb_tasks grows: latency should stay flat thanks to the (userId, ...) indexes
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class TaskRepositoryScaleBenchmark {
+
+    private static final int TASKS_PER_USER = 50;
+
+    @Param({"10000", "100000", "1000000"})
+    public int tasks;
+
+    private ConfigurableApplicationContext context;
+    private TaskRepository taskRepository;
+    private UUID userId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(TodolistApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:scale" + tasks + ";DB_CLOSE_ON_EXIT=FALSE", "logging.level.root=WARN")
+                .run();
+        taskRepository = context.getBean(TaskRepository.class);
+
+        var jdbc = context.getBean(JdbcTemplate.class);
+        var sql = "INSERT INTO tb_tasks (id, user_id, title, description, priority, start_at, end_at, created_at, updated_at)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        var now = LocalDateTime.now();
+        var batch = new ArrayList<Object[]>(10_000);
+        UUID owner = null;
+        for (int i = 0; i < tasks; i++) {
+            if (i % TASKS_PER_USER == 0) owner = UUID.randomUUID();
+            var createdAt = Timestamp.valueOf(now.plusNanos(i * 1000L));
+            batch.add(new Object[] {UUID.randomUUID(), owner, "task " + i, "description", (short) (1 + i % 3),
+                    Timestamp.valueOf(now.plusDays(1)), Timestamp.valueOf(now.plusDays(2 + i % 30)), createdAt, createdAt});
+            if (batch.size() == 10_000) {
+                jdbc.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) jdbc.batchUpdate(sql, batch);
+        userId = owner;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TaskModel> findByUserId() {
+        return taskRepository.findByUserId(userId);
+    }
+
+    @Benchmark
+    public List<TaskModel> findByUserIdAndPriority() {
+        return taskRepository.findByUserIdAndPriority(userId, TaskPriority.HIGH);
+    }
+
+    @Benchmark
+    public Slice<TaskModel> firstPage() {
+        return taskRepository.findByUserIdOrderByCreatedAtAscIdAsc(userId, PageRequest.ofSize(20));
+    }
+}
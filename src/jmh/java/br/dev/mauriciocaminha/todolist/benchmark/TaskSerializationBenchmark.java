@@ -0,0 +1,79 @@
+package br.dev.mauriciocaminha.todolist.benchmark;
+
+import br.dev.mauriciocaminha.todolist.entities.TaskModel;
+import br.dev.mauriciocaminha.todolist.entities.TaskPriority;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Jackson cost of the task listings: GET /tasks/ as a JSON array vs. the NDJSON stream, per list size; run with -prof gc for allocation
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class TaskSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int tasks;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter ndjsonWriter;
+    private List<TaskModel> list;
+    private ByteArrayOutputStream out;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Same defaults as the ObjectMapper Spring Boot builds (ISO dates, JavaTimeModule...)
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        ndjsonWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("");
+
+        var userId = UUID.randomUUID();
+        var now = LocalDateTime.now();
+        var priorities = TaskPriority.values();
+        list = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            var task = new TaskModel();
+            task.setId(UUID.randomUUID());
+            task.setUserId(userId);
+            task.setTitle("Task number " + i);
+            task.setDescription("Description of task " + i + " with a few more words in it");
+            task.setPriority(priorities[i % priorities.length]);
+            task.setStartAt(now.plusHours(i));
+            task.setEndAt(now.plusHours(i + 2));
+            task.setCreatedAt(now.minusMinutes(tasks - i));
+            task.setUpdatedAt(now.minusMinutes(tasks - i));
+            list.add(task);
+        }
+        out = new ByteArrayOutputStream(tasks * 400);
+    }
+
+    @Benchmark
+    public byte[] jsonArray() throws IOException {
+        return objectMapper.writeValueAsBytes(list);
+    }
+
+    @Benchmark
+    public int ndjson() throws IOException {
+        out.reset();
+        try (var generator = objectMapper.getFactory().createGenerator(out)) {
+            for (var task : list) {
+                ndjsonWriter.writeValue(generator, task);
+                generator.writeRaw('\n');
+            }
+        }
+        return out.size();
+    }
+}
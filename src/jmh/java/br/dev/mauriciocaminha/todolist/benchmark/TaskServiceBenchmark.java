@@ -0,0 +1,102 @@
+package br.dev.mauriciocaminha.todolist.benchmark;
+
+import br.dev.mauriciocaminha.todolist.entities.TaskModel;
+import br.dev.mauriciocaminha.todolist.entities.TaskPriority;
+import br.dev.mauriciocaminha.todolist.repository.OutboxEventRepository;
+import br.dev.mauriciocaminha.todolist.repository.TaskRepository;
+import br.dev.mauriciocaminha.todolist.service.OutboxService;
+import br.dev.mauriciocaminha.todolist.service.TaskEventHub;
+import br.dev.mauriciocaminha.todolist.service.TaskListCache;
+import br.dev.mauriciocaminha.todolist.service.TaskService;
+import br.dev.mauriciocaminha.todolist.service.TaskVersions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// TaskService.create without the database: date validation plus the outbox/event/cache/version hooks, accepted and rejected
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class TaskServiceBenchmark {
+
+    private TaskService taskService;
+    private TaskEventHub taskEventHub;
+    private MockHttpServletRequest request;
+    private TaskModel valid;
+    private TaskModel inThePast;
+    private TaskModel missingDates;
+
+    @Setup
+    public void setUp() throws Exception {
+        var registry = new SimpleMeterRegistry();
+        var taskRepository = Stubs.repository(TaskRepository.class);
+
+        var outboxService = new OutboxService();
+        ReflectionTestUtils.setField(outboxService, "outboxEventRepository", Stubs.repository(OutboxEventRepository.class));
+        taskEventHub = new TaskEventHub(Jackson2ObjectMapperBuilder.json().build(), 64, Duration.ofMinutes(30),
+                Duration.ZERO, registry);
+
+        taskService = new TaskService();
+        ReflectionTestUtils.setField(taskService, "taskRepository", taskRepository);
+        ReflectionTestUtils.setField(taskService, "outboxService", outboxService);
+        ReflectionTestUtils.setField(taskService, "taskEventHub", taskEventHub);
+        ReflectionTestUtils.setField(taskService, "taskListCache", new TaskListCache(taskRepository, 1 << 20, registry));
+        ReflectionTestUtils.setField(taskService, "taskVersions", new TaskVersions());
+
+        request = new MockHttpServletRequest();
+        request.setAttribute("userId", UUID.randomUUID());
+
+        var start = LocalDateTime.now().plusYears(1);
+        valid = task(start, start.plusDays(1));
+        inThePast = task(start.minusYears(2), start);
+        missingDates = task(null, null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        taskEventHub.destroy();
+    }
+
+    @Benchmark
+    public TaskModel accepted() {
+        return taskService.create(valid, request);
+    }
+
+    @Benchmark
+    public Object rejectedInThePast() {
+        return reject(inThePast);
+    }
+
+    @Benchmark
+    public Object rejectedMissingDates() {
+        return reject(missingDates);
+    }
+
+    private Object reject(TaskModel task) {
+        try {
+            return taskService.create(task, request);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    private static TaskModel task(LocalDateTime startAt, LocalDateTime endAt) throws Exception {
+        var task = new TaskModel();
+        task.setId(UUID.randomUUID());
+        task.setTitle("Benchmark task");
+        task.setDescription("Created over and over");
+        task.setPriority(TaskPriority.MEDIUM);
+        task.setStartAt(startAt);
+        task.setEndAt(endAt);
+        return task;
+    }
+}
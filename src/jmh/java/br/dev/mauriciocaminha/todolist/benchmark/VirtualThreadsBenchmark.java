@@ -0,0 +1,93 @@
+package br.dev.mauriciocaminha.todolist.benchmark;
+
+import br.dev.mauriciocaminha.todolist.TodolistApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Full HTTP round trips (Bearer auth + H2 read) at high concurrency: platform Tomcat pool vs. virtual threads.
+// Run with many client threads, e.g. -t 256; SampleTime reports p99 alongside throughput.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Threads(128)
+@Fork(1)
+public class VirtualThreadsBenchmark {
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    // Platform pool size; virtual-thread mode ignores it
+    @Param({"32"})
+    public int tomcatThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest listTasks;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(TodolistApplication.class)
+                .properties("server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.threads.max=" + tomcatThreads,
+                        "server.tomcat.accept-count=1000",
+                        "server.tomcat.max-connections=10000",
+                        "spring.datasource.url=jdbc:h2:mem:vthreads;DB_CLOSE_ON_EXIT=FALSE",
+                        "todolist.auth.bcrypt.cost=4",
+                        "logging.level.root=WARN")
+                .run();
+        var port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        var base = "http://localhost:" + port;
+
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(Duration.ofSeconds(5)).build();
+        send(HttpRequest.newBuilder(URI.create(base + "/users/"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"bench\",\"name\":\"Bench\",\"password\":\"secret\"}")).build());
+        var login = send(HttpRequest.newBuilder(URI.create(base + "/users/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"bench\",\"password\":\"secret\"}")).build());
+        var token = login.replaceAll(".*\"token\":\"([^\"]+)\".*", "$1");
+
+        for (int i = 0; i < 50; i++) {
+            send(HttpRequest.newBuilder(URI.create(base + "/tasks/"))
+                    .header("Content-Type", "application/json")
+                    .header("Authorization", "Bearer " + token)
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"task " + i + "\",\"description\":\"d\",\"priority\":\"LOW\","
+                            + "\"startAt\":\"2099-01-01T10:00:00\",\"endAt\":\"2099-01-02T10:00:00\"}")).build());
+        }
+
+        listTasks = HttpRequest.newBuilder(URI.create(base + "/tasks/?limit=50"))
+                .header("Authorization", "Bearer " + token)
+                .GET().build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int listTasks() throws Exception {
+        return client.send(listTasks, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private String send(HttpRequest request) throws Exception {
+        var response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException(response.statusCode() + " " + response.body());
+        }
+        return response.body();
+    }
+}
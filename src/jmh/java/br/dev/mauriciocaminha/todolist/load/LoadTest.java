@@ -0,0 +1,470 @@
+package br.dev.mauriciocaminha.todolist.load;
+
+import br.dev.mauriciocaminha.todolist.TodolistApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * End-to-end load generator: boots {@link TodolistApplication} on a random
+ * port against a private in-memory H2 and drives it over HTTP, offline.
+ *
+ * Every simulated user is a virtual thread running a closed loop: sign up,
+ * then pick operations from the weighted mix and wait for each response
+ * before sending the next. Listings revalidate with If-None-Match like a
+ * browser would. Latencies go into one HdrHistogram per operation; the
+ * warm-up period is discarded.
+ *
+ * Options, as -name=value (JMH style, -- also works): users, duration,
+ * warmup, think, mix (e.g. create=20,list=30,...), interval, report, and the
+ * thresholds max-p99, max-error-rate, min-throughput and max-heap-growth (MB
+ * of live heap after GC, first interval vs. last). -soak switches to a long
+ * run with periodic heap and GC lines. Any dotted name is passed to the
+ * application, so -todolist.auth.bcrypt.cost=10 works. The exit status is 1 when a threshold
+ * is missed, so CI can run it as a smoke test.
+ */
+public final class LoadTest {
+
+    enum Operation {
+        SIGNUP("POST /users/", 201, false),
+        CREATE("POST /tasks/", 201, false),
+        LIST("GET /tasks/", 200, false),
+        PRIORITY("GET /tasks/priority/{p}", 200, false),
+        UPDATE("PUT /tasks/{id}", 200, true),
+        COMPLETE("PATCH /tasks/{id}/complete", 200, true),
+        DELETE("DELETE /tasks/{id}", 204, true);
+
+        final String label;
+        final int expectedStatus;
+        final boolean needsTask;
+
+        Operation(String label, int expectedStatus, boolean needsTask) {
+            this.label = label;
+            this.expectedStatus = expectedStatus;
+            this.needsTask = needsTask;
+        }
+    }
+
+    private static final String DEFAULT_MIX = "signup=2,create=20,list=30,priority=15,update=15,complete=8,delete=10";
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH"};
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, Histogram> totals = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final AtomicInteger usernames = new AtomicInteger();
+    private final Operation[] mix;
+    private final long thinkNanos;
+
+    private HttpClient client;
+    private String baseUrl;
+
+    private LoadTest(Operation[] mix, Duration think) {
+        this.mix = mix;
+        this.thinkNanos = think.toNanos();
+        for (var operation : Operation.values()) {
+            this.recorders.put(operation, new Recorder(MAX_LATENCY_MICROS, 3));
+            this.totals.put(operation, new Histogram(MAX_LATENCY_MICROS, 3));
+            this.errors.put(operation, new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        var options = new LinkedHashMap<String, String>();
+        var appArgs = new ArrayList<String>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:load-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                // Every simulated user comes from 127.0.0.1: the per-IP login budget would refuse most of them
+                "--todolist.auth.throttle.enabled=false",
+                // Fast, fixed bcrypt so signups measure the application and not the calibrated work factor
+                "--todolist.auth.bcrypt.cost=4",
+                "--todolist.outbox.sink=file",
+                "--todolist.outbox.file=target/load-outbox.ndjson"));
+        for (var arg : args) {
+            if (!arg.startsWith("-")) throw new IllegalArgumentException("Expected -name=value, got " + arg);
+            var option = arg.substring(arg.startsWith("--") ? 2 : 1);
+            var split = option.indexOf('=');
+            var name = split < 0 ? option : option.substring(0, split);
+            if (name.contains(".")) appArgs.add("--" + option);
+            else options.put(name, split < 0 ? "true" : option.substring(split + 1));
+        }
+
+        var soak = Boolean.parseBoolean(options.getOrDefault("soak", "false"));
+        var users = Integer.parseInt(options.getOrDefault("users", "32"));
+        var duration = Duration.parse(options.getOrDefault("duration", soak ? "PT30M" : "PT30S"));
+        var warmup = Duration.parse(options.getOrDefault("warmup", "PT10S"));
+        var interval = Duration.parse(options.getOrDefault("interval", soak ? "PT30S" : "PT10S"));
+        var think = Duration.parse(options.getOrDefault("think", "PT0S"));
+        var report = Path.of(options.getOrDefault("report", "target/load-result.json"));
+
+        var test = new LoadTest(parseMix(options.getOrDefault("mix", DEFAULT_MIX)), think);
+        // devtools is on the test classpath; its restart would boot the application a second time
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        List<String> failures;
+        try (var app = new SpringApplicationBuilder(TodolistApplication.class).run(appArgs.toArray(String[]::new))) {
+            var port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            System.out.printf(Locale.ROOT, "Load test: %d users, %s warm-up, %s measured, against port %d%n",
+                    users, warmup, duration, port);
+            var result = test.run("http://localhost:" + port, users, warmup, duration, interval);
+            test.print(result);
+            Files.createDirectories(report.toAbsolutePath().getParent());
+            Files.writeString(report, JSON.writerWithDefaultPrettyPrinter().writeValueAsString(result));
+            failures = check(result, options);
+        }
+        failures.forEach(failure -> System.out.println("THRESHOLD MISSED: " + failure));
+        System.exit(failures.isEmpty() ? 0 : 1);
+    }
+
+    private Map<String, Object> run(String baseUrl, int users, Duration warmup, Duration duration, Duration interval)
+            throws InterruptedException {
+        this.baseUrl = baseUrl;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        var started = System.nanoTime();
+        var deadline = started + warmup.toNanos() + duration.toNanos();
+        var samples = new ArrayList<Map<String, Object>>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < users; i++) {
+                executor.submit(() -> this.simulateUser(deadline));
+            }
+
+            TimeUnit.NANOSECONDS.sleep(warmup.toNanos());
+            // Whatever was recorded during the warm-up is thrown away
+            this.recorders.values().forEach(Recorder::reset);
+            this.errors.values().forEach(LongAdder::reset);
+
+            var measuring = System.nanoTime();
+            var previous = measuring;
+            var previousGc = gcTotals();
+            while (System.nanoTime() < deadline) {
+                var next = Math.min(deadline, System.nanoTime() + interval.toNanos());
+                TimeUnit.NANOSECONDS.sleep(Math.max(0, next - System.nanoTime()));
+                var now = System.nanoTime();
+                var gc = gcTotals();
+                samples.add(this.sample(now - measuring, now - previous, gc, previousGc));
+                previous = now;
+                previousGc = gc;
+            }
+        }
+        this.client.close();
+
+        var measured = (double) duration.toNanos() / TimeUnit.SECONDS.toNanos(1);
+        var operations = new LinkedHashMap<String, Object>();
+        long requests = 0;
+        long failed = 0;
+        for (var operation : Operation.values()) {
+            var histogram = this.totals.get(operation);
+            var errorCount = this.errors.get(operation).sum();
+            requests += histogram.getTotalCount() + errorCount;
+            failed += errorCount;
+            if (histogram.getTotalCount() + errorCount > 0) {
+                operations.put(operation.label, summary(histogram, errorCount, measured));
+            }
+        }
+
+        var result = new LinkedHashMap<String, Object>();
+        result.put("users", users);
+        result.put("seconds", measured);
+        result.put("requests", requests);
+        result.put("errors", failed);
+        result.put("throughput", requests / measured);
+        result.put("operations", operations);
+        result.put("samples", samples);
+        return result;
+    }
+
+    // Drains the interval histograms into the totals and reports this interval with heap and GC activity
+    private Map<String, Object> sample(long elapsedNanos, long intervalNanos, long[] gc, long[] previousGc) {
+        var merged = new Histogram(MAX_LATENCY_MICROS, 3);
+        for (var operation : Operation.values()) {
+            var histogram = this.recorders.get(operation).getIntervalHistogram();
+            this.totals.get(operation).add(histogram);
+            merged.add(histogram);
+        }
+        var heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        var seconds = TimeUnit.NANOSECONDS.toSeconds(elapsedNanos);
+        var intervalSeconds = Math.max(1e-3, intervalNanos / 1e9);
+
+        var sample = new LinkedHashMap<String, Object>();
+        sample.put("second", seconds);
+        sample.put("throughput", merged.getTotalCount() / intervalSeconds);
+        sample.put("p99Millis", merged.getValueAtPercentile(99) / 1000.0);
+        sample.put("heapUsedMb", heap.getUsed() >> 20);
+        sample.put("liveAfterGcMb", liveAfterGc() >> 20);
+        sample.put("gcCount", gc[0] - previousGc[0]);
+        sample.put("gcMillis", gc[1] - previousGc[1]);
+        System.out.printf(Locale.ROOT, "[%5ds] %8.1f req/s  p99 %7.2f ms  heap %4d MB  live %4d MB  gc %3d (%d ms)%n",
+                seconds, (double) sample.get("throughput"), (double) sample.get("p99Millis"),
+                (long) sample.get("heapUsedMb"), (long) sample.get("liveAfterGcMb"),
+                (long) sample.get("gcCount"), (long) sample.get("gcMillis"));
+        return sample;
+    }
+
+    private void simulateUser(long deadline) {
+        var user = this.signUp();
+        while (user == null && System.nanoTime() < deadline) {
+            user = this.signUp();
+        }
+        var random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            var operation = this.mix[random.nextInt(this.mix.length)];
+            // Nothing to update, complete or delete yet
+            if (operation.needsTask && user.tasks.isEmpty()) {
+                operation = Operation.CREATE;
+            }
+            try {
+                if (operation == Operation.SIGNUP) {
+                    // A new user joins in place of this one
+                    var joined = this.signUp();
+                    if (joined != null) user = joined;
+                } else {
+                    this.execute(user, operation, random);
+                }
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (this.thinkNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(this.thinkNanos);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private User signUp() {
+        var username = "load-" + this.usernames.incrementAndGet() + "-" + Long.toHexString(System.nanoTime());
+        var password = "pw-" + username;
+        var body = "{\"username\":\"" + username + "\",\"name\":\"Load\",\"password\":\"" + password + "\"}";
+        try {
+            var response = this.send(Operation.SIGNUP, this.request("/users/").header("Content-Type", "application/json").POST(json(body)), null);
+            return response == null ? null : new User(username, password);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private void execute(User user, Operation operation, ThreadLocalRandom random) throws InterruptedException {
+        switch (operation) {
+            case CREATE -> {
+                var start = LocalDateTime.now().plusDays(1 + random.nextInt(30));
+                var body = "{\"title\":\"Task " + random.nextInt(1_000_000) + "\",\"description\":\"Generated by the load test\","
+                        + "\"priority\":\"" + PRIORITIES[random.nextInt(PRIORITIES.length)] + "\","
+                        + "\"startAt\":\"" + start + "\",\"endAt\":\"" + start.plusHours(1 + random.nextInt(48)) + "\"}";
+                var response = this.send(operation, this.request("/tasks/").header("Authorization", user.authorization)
+                        .header("Content-Type", "application/json").POST(json(body)), null);
+                if (response != null) {
+                    try {
+                        user.tasks.add(UUID.fromString(JSON.readTree(response.body()).path("id").asText()));
+                    } catch (IOException | IllegalArgumentException e) {
+                        this.errors.get(operation).increment();
+                    }
+                }
+            }
+            case LIST -> {
+                var request = this.request("/tasks/").header("Authorization", user.authorization)
+                        .header("Accept", "application/json").GET();
+                if (user.etag != null) request.header("If-None-Match", user.etag);
+                var response = this.send(operation, request, 304);
+                if (response != null) {
+                    user.etag = response.headers().firstValue("ETag").orElse(null);
+                }
+            }
+            case PRIORITY -> this.send(operation, this.request("/tasks/priority/" + PRIORITIES[random.nextInt(PRIORITIES.length)])
+                    .header("Authorization", user.authorization).GET(), null);
+            case UPDATE -> {
+                var body = "{\"description\":\"Updated " + random.nextInt(1_000_000) + "\",\"priority\":\""
+                        + PRIORITIES[random.nextInt(PRIORITIES.length)] + "\"}";
+                this.send(operation, this.request("/tasks/" + user.pick(random)).header("Authorization", user.authorization)
+                        .header("Content-Type", "application/json").PUT(json(body)), null);
+            }
+            case COMPLETE -> this.send(operation, this.request("/tasks/" + user.pick(random) + "/complete")
+                    .header("Authorization", user.authorization).method("PATCH", HttpRequest.BodyPublishers.noBody()), null);
+            case DELETE -> {
+                var index = random.nextInt(user.tasks.size());
+                var response = this.send(operation, this.request("/tasks/" + user.tasks.get(index))
+                        .header("Authorization", user.authorization).DELETE(), null);
+                if (response != null) {
+                    // Swap-remove: order of the user's ids does not matter
+                    user.tasks.set(index, user.tasks.get(user.tasks.size() - 1));
+                    user.tasks.remove(user.tasks.size() - 1);
+                }
+            }
+            default -> throw new IllegalStateException(operation.name());
+        }
+    }
+
+    // Records the latency of a successful call; anything else (status, I/O, timeout) only counts as an error
+    private HttpResponse<String> send(Operation operation, HttpRequest.Builder request, Integer alsoAccepted)
+            throws InterruptedException {
+        var started = System.nanoTime();
+        try {
+            var response = this.client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            var status = response.statusCode();
+            if (status != operation.expectedStatus && (alsoAccepted == null || status != alsoAccepted)) {
+                this.errors.get(operation).increment();
+                return null;
+            }
+            this.recorders.get(operation).recordValue(
+                    Math.min(MAX_LATENCY_MICROS, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started)));
+            return response;
+        } catch (IOException e) {
+            this.errors.get(operation).increment();
+            return null;
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(this.baseUrl + path)).timeout(Duration.ofSeconds(30));
+    }
+
+    private static HttpRequest.BodyPublisher json(String body) {
+        return HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8);
+    }
+
+    private void print(Map<String, Object> result) {
+        System.out.printf(Locale.ROOT, "%n%-28s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        @SuppressWarnings("unchecked")
+        var operations = (Map<String, Map<String, Object>>) result.get("operations");
+        operations.forEach((label, summary) -> System.out.printf(Locale.ROOT,
+                "%-28s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", label,
+                summary.get("count"), summary.get("errors"), summary.get("throughput"), summary.get("p50Millis"),
+                summary.get("p90Millis"), summary.get("p99Millis"), summary.get("p999Millis"), summary.get("maxMillis")));
+        System.out.printf(Locale.ROOT, "%-28s %9d %7d %9.1f%n%n", "total",
+                result.get("requests"), result.get("errors"), result.get("throughput"));
+    }
+
+    private static Map<String, Object> summary(Histogram histogram, long errors, double seconds) {
+        var summary = new LinkedHashMap<String, Object>();
+        summary.put("count", histogram.getTotalCount());
+        summary.put("errors", errors);
+        summary.put("throughput", histogram.getTotalCount() / seconds);
+        summary.put("p50Millis", histogram.getValueAtPercentile(50) / 1000.0);
+        summary.put("p90Millis", histogram.getValueAtPercentile(90) / 1000.0);
+        summary.put("p99Millis", histogram.getValueAtPercentile(99) / 1000.0);
+        summary.put("p999Millis", histogram.getValueAtPercentile(99.9) / 1000.0);
+        summary.put("maxMillis", histogram.getMaxValue() / 1000.0);
+        return summary;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> check(Map<String, Object> result, Map<String, String> options) {
+        var failures = new ArrayList<String>();
+        var requests = (long) result.get("requests");
+        var errorRate = requests == 0 ? 1 : (double) (long) result.get("errors") / requests;
+        var maxErrorRate = Double.parseDouble(options.getOrDefault("max-error-rate", "0.01"));
+        if (errorRate > maxErrorRate) {
+            failures.add(String.format(Locale.ROOT, "error rate %.4f > %.4f", errorRate, maxErrorRate));
+        }
+        if (options.containsKey("max-p99")) {
+            var limit = Duration.parse(options.get("max-p99")).toNanos() / 1e6;
+            ((Map<String, Map<String, Object>>) result.get("operations")).forEach((label, summary) -> {
+                if ((double) summary.get("p99Millis") > limit) {
+                    failures.add(String.format(Locale.ROOT, "%s p99 %.2f ms > %.2f ms", label, summary.get("p99Millis"), limit));
+                }
+            });
+        }
+        if (options.containsKey("min-throughput")) {
+            var limit = Double.parseDouble(options.get("min-throughput"));
+            if ((double) result.get("throughput") < limit) {
+                failures.add(String.format(Locale.ROOT, "throughput %.1f req/s < %.1f", result.get("throughput"), limit));
+            }
+        }
+        var samples = (List<Map<String, Object>>) result.get("samples");
+        if (options.containsKey("max-heap-growth") && samples.size() > 1) {
+            var growth = (long) samples.get(samples.size() - 1).get("liveAfterGcMb") - (long) samples.get(0).get("liveAfterGcMb");
+            var limit = Long.parseLong(options.get("max-heap-growth"));
+            if (growth > limit) {
+                failures.add(String.format(Locale.ROOT, "live heap grew %d MB > %d MB", growth, limit));
+            }
+        }
+        return failures;
+    }
+
+    private static Operation[] parseMix(String mix) {
+        var weighted = new ArrayList<Operation>();
+        for (var entry : mix.split(",")) {
+            var pair = entry.trim().split("=");
+            var operation = Operation.valueOf(pair[0].trim().toUpperCase(Locale.ROOT));
+            for (int i = Integer.parseInt(pair[1].trim()); i > 0; i--) {
+                weighted.add(operation);
+            }
+        }
+        if (weighted.isEmpty()) throw new IllegalArgumentException("Empty mix: " + mix);
+        return weighted.toArray(Operation[]::new);
+    }
+
+    // {collections, milliseconds} over every collector
+    private static long[] gcTotals() {
+        long count = 0;
+        long millis = 0;
+        for (var gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return new long[]{count, millis};
+    }
+
+    // Heap still in use right after the last collection of each pool: a steady climb here is a leak
+    private static long liveAfterGc() {
+        long bytes = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            var usage = pool.getType() == MemoryType.HEAP ? pool.getCollectionUsage() : null;
+            if (usage != null) bytes += usage.getUsed();
+        }
+        return bytes;
+    }
+
+    private static final class User {
+        final String authorization;
+        final List<UUID> tasks = new ArrayList<>();
+        String etag;
+
+        User(String username, String password) {
+            this.authorization = "Basic " + Base64.getEncoder().encodeToString(
+                    (username + ":" + password).getBytes(StandardCharsets.UTF_8));
+        }
+
+        UUID pick(ThreadLocalRandom random) {
+            return this.tasks.get(random.nextInt(this.tasks.size()));
+        }
+    }
+}
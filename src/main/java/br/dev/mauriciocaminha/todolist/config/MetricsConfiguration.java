@@ -0,0 +1,23 @@
+package br.dev.mauriciocaminha.todolist.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics by layer, all scraped from /actuator/prometheus:
+ * controllers through Spring's http.server.requests, services annotated with
+ * {@code @Timed} (service.invocations, tagged by class and method), each
+ * repository method through spring.data.repository.invocations, and the
+ * authentication filter through auth.attempts and auth.crypto.*.
+ */
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfiguration {
+
+    // Makes @Timed work on Spring beans; the meters are created on first call
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,55 @@
+package br.dev.mauriciocaminha.todolist.config;
+
+import br.dev.mauriciocaminha.todolist.utils.RequestTiming;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feeds {@link RequestTiming} from the layers below the filters: when the
+ * handler starts and every repository call. Statements are counted by the
+ * DataSource wrapper of StatementBudgetConfiguration. Only wired when
+ * {@code todolist.timing.enabled=true}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "todolist.timing.enabled", havingValue = "true")
+public class ServerTimingConfiguration implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                var timing = RequestTiming.of(request);
+                if (timing != null) timing.handlerStarted(System.nanoTime());
+                return true;
+            }
+        });
+    }
+
+    // Static: post-processors are created before the rest of the configuration
+    @Bean
+    public static BeanPostProcessor repositoryTimingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactory) {
+                    repositoryFactory.addRepositoryFactoryCustomizer(factory -> factory.addInvocationListener(invocation -> {
+                        var timing = RequestTiming.current();
+                        if (timing != null) timing.add(RequestTiming.Phase.DB, invocation.getDuration(TimeUnit.NANOSECONDS));
+                    }));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package br.dev.mauriciocaminha.todolist.config;
+
+import br.dev.mauriciocaminha.todolist.utils.StatementBudget;
+import br.dev.mauriciocaminha.todolist.utils.StatementCount;
+import br.dev.mauriciocaminha.todolist.utils.StatementCountingDataSource;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Counts SQL statements per request: the application DataSource is wrapped in
+ * a {@link StatementCountingDataSource}, and once the handler is known the
+ * request's {@link StatementCount} gets its endpoint name and
+ * {@link StatementBudget}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class StatementBudgetConfiguration implements WebMvcConfigurer {
+
+    @Value("${todolist.db.statement-budget.default:10}")
+    private int defaultBudget = 10;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                var count = StatementCount.of(request);
+                if (count != null && handler instanceof HandlerMethod method) {
+                    var budget = method.getMethodAnnotation(StatementBudget.class);
+                    count.setBudget(request.getMethod() + " " + request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE),
+                            budget != null ? budget.value() : StatementBudgetConfiguration.this.defaultBudget);
+                }
+                return true;
+            }
+        });
+    }
+
+    // Static: post-processors are created before the rest of the configuration
+    @Bean
+    public static BeanPostProcessor statementCountingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+                    return new StatementCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -1,13 +1,32 @@
 package br.dev.mauriciocaminha.todolist.controller;
 
 import br.dev.mauriciocaminha.todolist.entities.TaskModel;
+import br.dev.mauriciocaminha.todolist.service.TaskBatchResult;
+import br.dev.mauriciocaminha.todolist.service.TaskEventHub;
 import br.dev.mauriciocaminha.todolist.service.TaskService;
+import br.dev.mauriciocaminha.todolist.service.TaskVersions;
+import br.dev.mauriciocaminha.todolist.utils.StatementBudget;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.UUID;
@@ -16,10 +35,27 @@ import java.util.UUID;
 @RequestMapping("/tasks")
 public class TaskController {
 
+    // Listings are per user and change often: clients may keep them, but must revalidate every time
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    // A full batch (1000) in JDBC batches of 50: 20 for the tasks, 20 for the outbox, 20 outbox id fetches, plus auth
+    private static final int BATCH_STATEMENTS = 61;
+
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskEventHub taskEventHub;
+
+    @Autowired
+    private TaskVersions taskVersions;
+
+    // Budgets count the auth lookup (1 on a cache miss) and one outbox id fetch per 50 events
     @PostMapping("/")
+    @StatementBudget(4)
     public ResponseEntity<Object> create(@RequestBody TaskModel taskModel, HttpServletRequest request) {
         try {
             var task = this.taskService.create(taskModel, request);
@@ -29,13 +65,159 @@ public class TaskController {
         }
     }
 
+    // New: bulk creation from a JSON array; per-item results in request order
+    // The array is parsed item by item, so reading stops as soon as the batch is over the limit
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @StatementBudget(BATCH_STATEMENTS)
+    public ResponseEntity<Object> createBatch(HttpServletRequest request) throws IOException {
+        var maxBatchSize = this.taskService.getMaxBatchSize();
+        var items = new ArrayList<JsonNode>();
+        try (var parser = this.objectMapper.createParser(request.getInputStream())) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Expected a JSON array of tasks.");
+            }
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (items.size() == maxBatchSize) {
+                    return this.batchTooLarge();
+                }
+                items.add(parser.readValueAsTree());
+            }
+        } catch (JsonProcessingException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+        return this.createBatch(items, item -> this.objectMapper.treeToValue(item, TaskModel.class), request);
+    }
+
+    // New: bulk creation from NDJSON, one task per line; stops reading as soon as the batch is over the limit
+    @PostMapping(value = "/batch", consumes = "application/x-ndjson")
+    @StatementBudget(BATCH_STATEMENTS)
+    public ResponseEntity<Object> createBatchNdjson(HttpServletRequest request) throws IOException {
+        var maxBatchSize = this.taskService.getMaxBatchSize();
+        var items = new ArrayList<String>();
+        try (var reader = request.getReader()) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                if (items.size() == maxBatchSize) {
+                    return this.batchTooLarge();
+                }
+                items.add(line);
+            }
+        }
+        return this.createBatch(items, item -> this.objectMapper.readValue(item, TaskModel.class), request);
+    }
+
+    private interface BatchItemReader<T> {
+        TaskModel read(T item) throws JsonProcessingException;
+    }
+
+    private <T> ResponseEntity<Object> createBatch(List<T> items, BatchItemReader<T> itemReader, HttpServletRequest request) {
+        var tasks = new ArrayList<TaskModel>(items.size());
+        var positions = new ArrayList<Integer>(items.size());
+        var results = new TaskBatchResult[items.size()];
+
+        for (int i = 0; i < items.size(); i++) {
+            try {
+                tasks.add(itemReader.read(items.get(i)));
+                positions.add(i);
+            } catch (JsonProcessingException e) {
+                results[i] = TaskBatchResult.rejected(i, NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            }
+        }
+
+        try {
+            var created = this.taskService.createBatch(tasks, request);
+            for (var result : created) {
+                var index = positions.get(result.index());
+                results[index] = new TaskBatchResult(index, result.status(), result.task(), result.error());
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(Arrays.asList(results));
+    }
+
+    private ResponseEntity<Object> batchTooLarge() {
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                .body("A batch may contain at most " + this.taskService.getMaxBatchSize() + " tasks.");
+    }
+
+    // Without cursor/limit returns the full list, as before; with them, one keyset page
     @GetMapping("/")
-    public ResponseEntity<List<TaskModel>> listAllByUser(HttpServletRequest request) {
-        var tasks = this.taskService.listAllByUser(request);
-        return ResponseEntity.status(HttpStatus.OK).body(tasks);
+    @StatementBudget(2)
+    public ResponseEntity<Object> listAllByUser(HttpServletRequest request,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(required = false) Integer limit) {
+        var etag = this.taskVersions.etag((UUID) request.getAttribute("userId"));
+        if (notModified(request, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+        }
+        if (cursor == null && limit == null) {
+            var tasks = this.taskService.listAllByUser(request);
+            return ResponseEntity.status(HttpStatus.OK).eTag(etag).cacheControl(REVALIDATE).body(tasks);
+        }
+        try {
+            var page = this.taskService.listPageByUser(cursor, limit, request);
+            return ResponseEntity.status(HttpStatus.OK).eTag(etag).cacheControl(REVALIDATE).body(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    // New: every task of the user as NDJSON, streamed with constant memory
+    // The tasks are read by the body, on another thread, where statements are not counted
+    @GetMapping(value = "/", produces = "application/x-ndjson")
+    @StatementBudget(1)
+    public ResponseEntity<StreamingResponseBody> streamAllByUser(HttpServletRequest request) {
+        var userId = (UUID) request.getAttribute("userId");
+        var etag = this.taskVersions.etag(userId, "-ndjson");
+        if (notModified(request, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+        }
+        var writer = this.objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("");
+
+        StreamingResponseBody body = out -> {
+            try (var generator = this.objectMapper.getFactory().createGenerator(out)) {
+                this.taskService.streamAllByUser(userId, task -> {
+                    try {
+                        writer.writeValue(generator, task);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.status(HttpStatus.OK).contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .eTag(etag).cacheControl(REVALIDATE).body(body);
+    }
+
+    // New: Server-Sent Events of the user's task changes (created, updated, completed, deleted)
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @StatementBudget(1)
+    public SseEmitter events(HttpServletRequest request) {
+        return this.taskEventHub.subscribe((UUID) request.getAttribute("userId"));
+    }
+
+    @GetMapping("/priority/{priority}")
+    @StatementBudget(2)
+    public ResponseEntity<Object> listByPriority(@PathVariable String priority, HttpServletRequest request) {
+        var etag = this.taskVersions.etag((UUID) request.getAttribute("userId"));
+        if (notModified(request, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+        }
+        try {
+            var tasks = this.taskService.listByPriority(priority, request);
+            return ResponseEntity.status(HttpStatus.OK).eTag(etag).cacheControl(REVALIDATE).body(tasks);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
     }
 
     @PutMapping("/{taskId}")
+    @StatementBudget(3)
     public ResponseEntity<Object> updateTask(@RequestBody TaskModel taskModel, HttpServletRequest request, @PathVariable UUID taskId) {
         try {
             var updatedTask = this.taskService.updateTask(taskId, taskModel, request);
@@ -47,5 +229,42 @@ public class TaskController {
         }
     }
 
+    @PatchMapping("/{taskId}/complete")
+    @StatementBudget(3)
+    public ResponseEntity<Object> markAsCompleted(HttpServletRequest request, @PathVariable UUID taskId) {
+        try {
+            var task = this.taskService.markAsCompleted(taskId, request);
+            return ResponseEntity.status(HttpStatus.OK).body(task);
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        }
+    }
 
+    @DeleteMapping("/{taskId}")
+    @StatementBudget(4)
+    public ResponseEntity<Object> deleteTask(HttpServletRequest request, @PathVariable UUID taskId) {
+        try {
+            this.taskService.deleteTask(taskId, request);
+            return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        }
+    }
+
+    // The tag is taken before the list is read, so a 304 never reaches the repository.
+    // If-None-Match uses weak comparison (RFC 9110): a W/ prefix is ignored, "*" matches any list
+    private static boolean notModified(HttpServletRequest request, String etag) {
+        var header = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (header == null) return false;
+        for (var candidate : header.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.startsWith("W/")) candidate = candidate.substring(2);
+            if (candidate.equals("*") || candidate.equals(etag)) return true;
+        }
+        return false;
+    }
 }
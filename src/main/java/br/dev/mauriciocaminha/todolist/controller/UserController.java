@@ -1,7 +1,11 @@
 package br.dev.mauriciocaminha.todolist.controller;
 
 import br.dev.mauriciocaminha.todolist.entities.UserModel;
+import br.dev.mauriciocaminha.todolist.service.LoginThrottle;
+import br.dev.mauriciocaminha.todolist.service.TokenService;
 import br.dev.mauriciocaminha.todolist.service.UserService;
+import br.dev.mauriciocaminha.todolist.utils.StatementBudget;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -10,6 +14,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Map;
 
 @RestController
 @RequestMapping("/users")
@@ -18,7 +23,14 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
+
     @PostMapping("/")
+    @StatementBudget(2)
     public ResponseEntity<Object> create(@RequestBody UserModel userModel) {
         try {
             var userCreated = this.userService.create(userModel);
@@ -27,4 +39,20 @@ public class UserController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         }
     }
+
+    @PostMapping("/login")
+    @StatementBudget(1)
+    public ResponseEntity<Object> login(@RequestBody UserModel credentials, HttpServletRequest request) {
+        // Same budget as Basic auth on /tasks; a refusal becomes 429 with Retry-After
+        this.loginThrottle.check(request.getRemoteAddr(), credentials.getUsername());
+        try {
+            var token = this.userService.login(credentials.getUsername(), credentials.getPassword());
+            return ResponseEntity.status(HttpStatus.OK).body(Map.of(
+                    "token", token,
+                    "type", "Bearer",
+                    "expiresIn", this.tokenService.getTtl().toSeconds()));
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,51 @@
+package br.dev.mauriciocaminha.todolist.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Notification waiting to be published; written in the same transaction as the change it describes
+@Data
+@Entity(name = "tb_outbox_events")
+@Table(name = "tb_outbox_events")
+public class OutboxEventModel {
+
+    public static final String TASK_CREATED = "TASK_CREATED";
+    public static final String TASK_DELETED = "TASK_DELETED";
+
+    // Sequence ids give the publish order; pooled allocation keeps inserts batchable
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_seq")
+    @SequenceGenerator(name = "outbox_seq", sequenceName = "tb_outbox_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "userId", nullable = false)
+    private UUID userId;
+
+    @Column(name = "type", length = 32, nullable = false)
+    private String type;
+
+    @Column(name = "taskId", nullable = false)
+    private UUID taskId;
+
+    @CreationTimestamp
+    @Column(name = "createdAt")
+    private LocalDateTime createdAt;
+
+    public OutboxEventModel() { }
+
+    public OutboxEventModel(UUID userId, String type, UUID taskId) {
+        this.userId = userId;
+        this.type = type;
+        this.taskId = taskId;
+    }
+}
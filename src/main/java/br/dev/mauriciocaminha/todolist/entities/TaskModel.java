@@ -4,20 +4,31 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import lombok.Data;
 
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Data
 @Entity(name = "tb_tasks")
+@Table(name = "tb_tasks", indexes = {
+        // Serves findByUserId (prefix) and keyset pagination on (createdAt, id)
+        @Index(name = "idx_tasks_user_created", columnList = "userId, createdAt, id"),
+        @Index(name = "idx_tasks_user_priority", columnList = "userId, priority"),
+        @Index(name = "idx_tasks_user_end_at", columnList = "userId, endAt")
+})
 public class TaskModel {
 
+    // Generated in memory (no IDENTITY round trip), so inserts can be JDBC-batched; time-ordered for index locality
     @Id
-    @GeneratedValue(generator = "UUID")
+    @GeneratedValue
+    @UuidGenerator(style = UuidGenerator.Style.TIME)
     private UUID id;
 
     @Column(name = "userId", nullable = false)
@@ -30,7 +41,7 @@ public class TaskModel {
     private String description;
 
     @Column(name = "priority", nullable = false)
-    private String priority;
+    private TaskPriority priority;
 
     @Column(name = "startAt")
     private LocalDateTime startAt;
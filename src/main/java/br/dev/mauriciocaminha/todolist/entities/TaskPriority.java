@@ -0,0 +1,47 @@
+package br.dev.mauriciocaminha.todolist.entities;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+// Stored as its rank (SMALLINT), so ORDER BY priority sorts LOW < MEDIUM < HIGH
+public enum TaskPriority {
+    LOW(1),
+    MEDIUM(2),
+    HIGH(3);
+
+    private static final TaskPriority[] VALUES = values();
+
+    private final short rank;
+
+    TaskPriority(int rank) {
+        this.rank = (short) rank;
+    }
+
+    public short getRank() {
+        return this.rank;
+    }
+
+    @JsonValue
+    public String toJson() {
+        return this.name();
+    }
+
+    // Case-insensitive; rejects anything else so bad input becomes a 400 instead of a stored string
+    @JsonCreator
+    public static TaskPriority from(String value) {
+        if (value != null) {
+            var trimmed = value.trim();
+            for (var priority : VALUES) {
+                if (priority.name().equalsIgnoreCase(trimmed)) return priority;
+            }
+        }
+        throw new IllegalArgumentException("Priority must be one of LOW, MEDIUM, HIGH.");
+    }
+
+    public static TaskPriority fromRank(short rank) {
+        for (var priority : VALUES) {
+            if (priority.rank == rank) return priority;
+        }
+        throw new IllegalArgumentException("Unknown priority rank: " + rank);
+    }
+}
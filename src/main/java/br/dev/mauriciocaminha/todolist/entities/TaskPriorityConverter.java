@@ -0,0 +1,18 @@
+package br.dev.mauriciocaminha.todolist.entities;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class TaskPriorityConverter implements AttributeConverter<TaskPriority, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(TaskPriority priority) {
+        return priority == null ? null : priority.getRank();
+    }
+
+    @Override
+    public TaskPriority convertToEntityAttribute(Short rank) {
+        return rank == null ? null : TaskPriority.fromRank(rank);
+    }
+}
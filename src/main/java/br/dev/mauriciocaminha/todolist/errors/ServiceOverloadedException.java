@@ -0,0 +1,24 @@
+package br.dev.mauriciocaminha.todolist.errors;
+
+import br.dev.mauriciocaminha.todolist.utils.Utils;
+
+import java.time.Duration;
+
+// Thrown when a bounded resource (e.g. the password worker pool) is saturated; mapped to 503
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ServiceOverloadedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return this.retryAfter;
+    }
+
+    public long getRetryAfterSeconds() {
+        return Utils.retryAfterSeconds(this.retryAfter);
+    }
+}
@@ -0,0 +1,24 @@
+package br.dev.mauriciocaminha.todolist.errors;
+
+import br.dev.mauriciocaminha.todolist.utils.Utils;
+
+import java.time.Duration;
+
+// Thrown when a client or username has used up its login attempts; mapped to 429
+public class TooManyRequestsException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public TooManyRequestsException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return this.retryAfter;
+    }
+
+    public long getRetryAfterSeconds() {
+        return Utils.retryAfterSeconds(this.retryAfter);
+    }
+}
@@ -0,0 +1,145 @@
+package br.dev.mauriciocaminha.todolist.filters;
+
+import br.dev.mauriciocaminha.todolist.utils.ObjectPool;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Username and password of an {@code Authorization: Basic} header (RFC 7617).
+ *
+ * {@link #parse} decodes the base64 straight from the header into a pooled
+ * buffer and splits at the first ':' (so passwords may contain ':'), then
+ * builds the two strings as UTF-8: the username and password are the only
+ * allocations. Anything malformed (missing header, other scheme, bad base64,
+ * no ':', empty username, invalid UTF-8, control characters, oversized
+ * header) yields null instead of an exception, so the caller can answer 401
+ * without a stack trace.
+ */
+public record BasicCredentials(String username, String password) {
+
+    private static final String SCHEME = "Basic ";
+    private static final int MAX_HEADER_CHARS = 4096;
+    private static final int MAX_DECODED_BYTES = MAX_HEADER_CHARS / 4 * 3;
+
+    private static final byte[] DECODE = new byte[128];
+
+    static {
+        Arrays.fill(DECODE, (byte) -1);
+        var alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+        for (int i = 0; i < alphabet.length(); i++) {
+            DECODE[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    private static final ObjectPool<byte[]> BUFFERS = new ObjectPool<>(() -> new byte[MAX_DECODED_BYTES],
+            Runtime.getRuntime().availableProcessors() * 4);
+
+    public static BasicCredentials parse(String header) {
+        if (header == null || header.length() > MAX_HEADER_CHARS
+                || !header.regionMatches(true, 0, SCHEME, 0, SCHEME.length())) {
+            return null;
+        }
+
+        int start = SCHEME.length();
+        int end = header.length();
+        while (start < end && header.charAt(start) == ' ') start++;
+        while (end > start && header.charAt(end - 1) == ' ') end--;
+
+        // Padding is optional, but when present it must complete the last quantum
+        int padding = 0;
+        while (end > start && padding < 2 && header.charAt(end - 1) == '=') {
+            end--;
+            padding++;
+        }
+        int chars = end - start;
+        if (chars == 0 || chars % 4 == 1 || (padding > 0 && (chars + padding) % 4 != 0)) {
+            return null;
+        }
+
+        var buffer = BUFFERS.acquire();
+        try {
+            int length = decode(header, start, end, buffer);
+            if (length < 0) return null;
+
+            int colon = -1;
+            for (int i = 0; i < length; i++) {
+                if (buffer[i] == ':') {
+                    colon = i;
+                    break;
+                }
+            }
+            // A ':' byte never occurs inside a multi-byte UTF-8 sequence, so splitting before decoding is safe
+            if (colon <= 0 || !isValidText(buffer, length)) return null;
+
+            return new BasicCredentials(
+                    new String(buffer, 0, colon, StandardCharsets.UTF_8),
+                    new String(buffer, colon + 1, length - colon - 1, StandardCharsets.UTF_8));
+        } finally {
+            // Pooled buffers must not keep passwords around, not even a prefix decoded before a bad character
+            Arrays.fill(buffer, 0, chars * 3 / 4, (byte) 0);
+            BUFFERS.release(buffer);
+        }
+    }
+
+    // Standard-alphabet base64 decode into dst; returns the byte count, or -1 on a bad character
+    private static int decode(String src, int start, int end, byte[] dst) {
+        int bits = 0;
+        int buffer = 0;
+        int length = 0;
+        for (int i = start; i < end; i++) {
+            char c = src.charAt(i);
+            int value = c < 128 ? DECODE[c] : -1;
+            if (value < 0) {
+                return -1;
+            }
+            buffer = (buffer << 6) | value;
+            bits += 6;
+            if (bits >= 8) {
+                bits -= 8;
+                dst[length++] = (byte) (buffer >> bits);
+            }
+        }
+        // Leftover bits must be zero, otherwise several headers would decode to the same credentials
+        return (buffer & ((1 << bits) - 1)) == 0 ? length : -1;
+    }
+
+    // Well-formed UTF-8 (no overlongs, surrogates or values past U+10FFFF) without control characters
+    private static boolean isValidText(byte[] bytes, int length) {
+        int i = 0;
+        while (i < length) {
+            int b = bytes[i] & 0xFF;
+            if (b < 0x80) {
+                if (b < 0x20 || b == 0x7F) return false;
+                i++;
+                continue;
+            }
+
+            int continuation;
+            if (b >= 0xC2 && b <= 0xDF) continuation = 1;
+            else if (b >= 0xE0 && b <= 0xEF) continuation = 2;
+            else if (b >= 0xF0 && b <= 0xF4) continuation = 3;
+            else return false;
+            if (i + continuation >= length) return false;
+
+            int codePoint = b & (0x3F >> continuation);
+            for (int j = 1; j <= continuation; j++) {
+                int c = bytes[i + j] & 0xFF;
+                if ((c & 0xC0) != 0x80) return false;
+                codePoint = (codePoint << 6) | (c & 0x3F);
+            }
+            if (continuation == 2 && (codePoint < 0x800 || (codePoint >= 0xD800 && codePoint <= 0xDFFF))) return false;
+            if (continuation == 3 && (codePoint < 0x10000 || codePoint > 0x10FFFF)) return false;
+            // C1 controls (U+0080..U+009F) are control characters too
+            if (continuation == 1 && codePoint < 0xA0) return false;
+            i += continuation + 1;
+        }
+        return true;
+    }
+
+    // Never print the password (records include every component in toString)
+    @Override
+    public String toString() {
+        return "BasicCredentials[username=" + this.username + "]";
+    }
+}
@@ -1,7 +1,15 @@
 package br.dev.mauriciocaminha.todolist.filters;
 
-import br.dev.mauriciocaminha.todolist.repository.UserRepository;
+import br.dev.mauriciocaminha.todolist.errors.ServiceOverloadedException;
+import br.dev.mauriciocaminha.todolist.errors.TooManyRequestsException;
 import br.dev.mauriciocaminha.todolist.service.AuthenticationService;
+import br.dev.mauriciocaminha.todolist.service.CredentialCache;
+import br.dev.mauriciocaminha.todolist.service.LoginThrottle;
+import br.dev.mauriciocaminha.todolist.service.TokenService;
+import br.dev.mauriciocaminha.todolist.service.UserCache;
+import br.dev.mauriciocaminha.todolist.utils.RequestTiming;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -10,41 +18,129 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Base64;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class FilterTaskAuth extends OncePerRequestFilter {
 
+    // Resultado de cada autenticacao, tag "outcome" de auth.attempts
+    enum Outcome {
+        TOKEN, TOKEN_INVALID, CACHED, MALFORMED, THROTTLED, UNKNOWN_USER, BAD_PASSWORD, OVERLOADED, SUCCESS
+    }
+
     @Autowired
-    private UserRepository userRepository;
+    private UserCache userCache;
 
     @Autowired
     private AuthenticationService authenticationService;
 
+    @Autowired
+    private CredentialCache credentialCache;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
+
+    // Um timer por resultado, criados uma vez: registrar custa so um record, sem lookup no registry
+    private final Timer[] attempts = new Timer[Outcome.values().length];
+
+    @Autowired
+    public FilterTaskAuth(MeterRegistry meterRegistry) {
+        for (var outcome : Outcome.values()) {
+            this.attempts[outcome.ordinal()] = Timer.builder("auth.attempts")
+                    .description("Time spent authenticating a /tasks/ request, bcrypt included, by outcome")
+                    .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+        }
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         var serveletPath = request.getServletPath();
 
         if (serveletPath.startsWith("/tasks/")) {
+            var started = System.nanoTime();
+            // So existe com todolist.timing.enabled (Server-Timing)
+            var timing = RequestTiming.of(request);
+
             // Pegar auth
             var authorization = request.getHeader("Authorization");
-            var encodedAuth = authorization.substring("Basic".length()).trim();
-            byte[] decodedAuth = Base64.getDecoder().decode(encodedAuth);
 
-            var authString = new String(decodedAuth);
-            var credentials = authString.split(":");
+            // Token de sessao: so CPU, sem acesso ao banco
+            if (authorization != null && authorization.startsWith("Bearer ")) {
+                var userId = this.tokenService.verify(authorization, "Bearer ".length(), authorization.length());
+                if (timing != null) timing.add(RequestTiming.Phase.PARSE, System.nanoTime() - started);
+                if (userId == null) {
+                    this.record(Outcome.TOKEN_INVALID, started);
+                    response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+                    return;
+                }
+                this.record(Outcome.TOKEN, started);
+                request.setAttribute("userId", userId);
+                filterChain.doFilter(request, response);
+                return;
+            }
+
+            // Cabecalho ausente ou malformado: 401 direto, sem excecao
+            var credentials = BasicCredentials.parse(authorization);
+            if (timing != null) timing.add(RequestTiming.Phase.PARSE, System.nanoTime() - started);
+            if (credentials == null) {
+                this.record(Outcome.MALFORMED, started);
+                response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+                return;
+            }
+
+            // Credencial ja verificada recentemente
+            var cachedUserId = this.credentialCache.get(credentials.username(), credentials.password());
+            if (cachedUserId != null) {
+                this.record(Outcome.CACHED, started);
+                request.setAttribute("userId", cachedUserId);
+                filterChain.doFilter(request, response);
+                return;
+            }
+
+            // Limite de tentativas por IP e por usuario, antes de banco e bcrypt
+            try {
+                this.loginThrottle.check(request.getRemoteAddr(), credentials.username());
+            } catch (TooManyRequestsException e) {
+                this.record(Outcome.THROTTLED, started);
+                response.setHeader("Retry-After", String.valueOf(e.getRetryAfterSeconds()));
+                response.sendError(429);
+                return;
+            }
 
             // Validar
-            var user = this.userRepository.findByUsername(credentials[0]);
+            var epoch = this.credentialCache.epoch();
+            var lookup = System.nanoTime();
+            var user = this.userCache.findByUsername(credentials.username());
+            if (timing != null) timing.add(RequestTiming.Phase.USER, System.nanoTime() - lookup);
             if (user == null) {
+                this.record(Outcome.UNKNOWN_USER, started);
                 response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
             } else {
-                var passwordVerify = this.authenticationService.verifyPassword(user, credentials[1]);
+                boolean passwordVerify;
+                var verifying = System.nanoTime();
+                try {
+                    passwordVerify = this.authenticationService.verifyPassword(user, credentials.password());
+                    if (timing != null) timing.add(RequestTiming.Phase.BCRYPT, System.nanoTime() - verifying);
+                } catch (ServiceOverloadedException e) {
+                    // Pool de bcrypt cheio: falha rapido
+                    this.record(Outcome.OVERLOADED, started);
+                    response.setHeader("Retry-After", String.valueOf(e.getRetryAfterSeconds()));
+                    response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                    return;
+                }
                 if (passwordVerify) {
+                    this.record(Outcome.SUCCESS, started);
+                    this.credentialCache.put(credentials.username(), credentials.password(), user.getId(), epoch);
                     request.setAttribute("userId", user.getId());
                     // Segue
                     filterChain.doFilter(request, response);
                 } else {
+                    this.record(Outcome.BAD_PASSWORD, started);
                     response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
                 }
             }
@@ -52,4 +148,8 @@ public class FilterTaskAuth extends OncePerRequestFilter {
             filterChain.doFilter(request, response);
         }
     }
+
+    private void record(Outcome outcome, long started) {
+        this.attempts[outcome.ordinal()].record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
 }
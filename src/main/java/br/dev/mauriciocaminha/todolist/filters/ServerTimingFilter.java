@@ -0,0 +1,147 @@
+package br.dev.mauriciocaminha.todolist.filters;
+
+import br.dev.mauriciocaminha.todolist.utils.RequestTiming;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+
+/**
+ * Opt-in per-request timing ({@code todolist.timing.enabled=true}).
+ *
+ * Runs ahead of the auth filter, so the breakdown covers the whole request.
+ * When the header is on, the body is buffered until the request is done so
+ * the {@code Server-Timing} header can include the JSON write. Streamed
+ * responses are recognised by their content type (SSE, NDJSON) when the body
+ * is opened, whatever the client asked for, and are passed through
+ * unbuffered and only logged. Requests slower
+ * than {@code todolist.timing.slow-threshold} are written as one JSON line to
+ * the {@code todolist.slow-requests} logger, with their query count.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "todolist.timing.enabled", havingValue = "true")
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final Logger slowRequests = LoggerFactory.getLogger("todolist.slow-requests");
+
+    private final ObjectMapper objectMapper;
+    private final boolean header;
+    private final long slowThresholdNanos;
+
+    @Autowired
+    public ServerTimingFilter(ObjectMapper objectMapper,
+                              @Value("${todolist.timing.header:true}") boolean header,
+                              @Value("${todolist.timing.slow-threshold:PT1S}") Duration slowThreshold) {
+        this.objectMapper = objectMapper;
+        this.header = header;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        var timing = new RequestTiming(System.nanoTime());
+        request.setAttribute(RequestTiming.ATTRIBUTE, timing);
+
+        var buffered = this.header ? new TimingResponseWrapper(response) : null;
+        try {
+            filterChain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            timing.finish(System.nanoTime());
+            if (buffered != null && !buffered.streaming) {
+                // sendError commits right away; those responses go out without the header
+                if (!response.isCommitted() && !request.isAsyncStarted()) {
+                    response.setHeader("Server-Timing", timing.toHeader());
+                }
+                buffered.copyBodyToResponse();
+            }
+            if (timing.getTotalNanos() >= this.slowThresholdNanos) {
+                this.logSlowRequest(request, response, timing);
+            }
+        }
+    }
+
+    // Buffers the body, unless it turns out to be a stream once the handler opens it
+    private static final class TimingResponseWrapper extends ContentCachingResponseWrapper {
+
+        private boolean streaming;
+
+        TimingResponseWrapper(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            return this.isStreaming() ? this.getResponse().getOutputStream() : super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            return this.isStreaming() ? this.getResponse().getWriter() : super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (this.streaming) {
+                this.getResponse().flushBuffer();
+            } else {
+                super.flushBuffer();
+            }
+        }
+
+        // These keep the response open and write from another thread, so they cannot be buffered
+        private boolean isStreaming() {
+            if (!this.streaming) {
+                var contentType = this.getContentType();
+                this.streaming = contentType != null
+                        && (contentType.startsWith("text/event-stream") || contentType.startsWith("application/x-ndjson"));
+            }
+            return this.streaming;
+        }
+    }
+
+    private void logSlowRequest(HttpServletRequest request, HttpServletResponse response, RequestTiming timing) {
+        var entry = new LinkedHashMap<String, Object>();
+        entry.put("method", request.getMethod());
+        entry.put("path", request.getRequestURI());
+        entry.put("status", response.getStatus());
+        var userId = request.getAttribute("userId");
+        if (userId != null) {
+            entry.put("userId", userId);
+        }
+        entry.put("totalMs", millis(timing.getTotalNanos()));
+        for (var phase : RequestTiming.Phase.values()) {
+            if (timing.has(phase)) {
+                entry.put(phase.metric() + "Ms", millis(timing.nanos(phase)));
+            }
+        }
+        entry.put("queries", timing.getQueries());
+        try {
+            slowRequests.warn(this.objectMapper.writeValueAsString(entry));
+        } catch (JsonProcessingException e) {
+            slowRequests.warn("{}", entry);
+        }
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1e3) / 1e3;
+    }
+}
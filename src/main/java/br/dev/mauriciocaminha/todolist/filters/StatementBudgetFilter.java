@@ -0,0 +1,107 @@
+package br.dev.mauriciocaminha.todolist.filters;
+
+import br.dev.mauriciocaminha.todolist.utils.StatementCount;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Counts the SQL statements of a sample of requests
+ * ({@code todolist.db.statement-budget.sample-rate}, 0 to 1) and checks them
+ * against the endpoint's {@link br.dev.mauriciocaminha.todolist.utils.StatementBudget}.
+ *
+ * Runs ahead of the auth filter, so its user lookup is counted too. Counts go
+ * to the {@code db.statements} summary per endpoint; requests over budget are
+ * counted in {@code db.statements.over.budget} and written as one JSON line to
+ * the {@code todolist.statement-budget} logger.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class StatementBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger overBudget = LoggerFactory.getLogger("todolist.statement-budget");
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final double sampleRate;
+
+    @Autowired
+    public StatementBudgetFilter(ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${todolist.db.statement-budget.sample-rate:0}") double sampleRate) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        if (!this.sampled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        try (var count = StatementCount.open()) {
+            request.setAttribute(StatementCount.ATTRIBUTE, count);
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                this.check(request, response, count);
+            }
+        }
+    }
+
+    private boolean sampled() {
+        return this.sampleRate >= 1 || (this.sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < this.sampleRate);
+    }
+
+    // Requests that never reached a handler (rejected by auth, 404) have no endpoint and are not checked
+    private void check(HttpServletRequest request, HttpServletResponse response, StatementCount count) {
+        var endpoint = count.getEndpoint();
+        if (endpoint == null) return;
+
+        DistributionSummary.builder("db.statements")
+                .tag("endpoint", endpoint)
+                .register(this.meterRegistry)
+                .record(count.getTotal());
+        if (!count.isOverBudget()) return;
+
+        Counter.builder("db.statements.over.budget")
+                .tag("endpoint", endpoint)
+                .register(this.meterRegistry)
+                .increment();
+
+        var entry = new LinkedHashMap<String, Object>();
+        entry.put("endpoint", endpoint);
+        entry.put("path", request.getRequestURI());
+        entry.put("status", response.getStatus());
+        entry.put("statements", count.getTotal());
+        entry.put("budget", count.getBudget());
+        for (var kind : StatementCount.Kind.values()) {
+            if (count.get(kind) > 0) entry.put(kind.metric(), count.get(kind));
+        }
+        try {
+            overBudget.warn(this.objectMapper.writeValueAsString(entry));
+        } catch (JsonProcessingException e) {
+            overBudget.warn("{}", entry);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package br.dev.mauriciocaminha.todolist.repository;
+
+import br.dev.mauriciocaminha.todolist.entities.OutboxEventModel;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEventModel, Long> {
+    // Oldest first, served by the primary key
+    List<OutboxEventModel> findAllByOrderByIdAsc(Pageable pageable);
+}
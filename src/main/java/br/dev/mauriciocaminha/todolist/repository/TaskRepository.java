@@ -1,12 +1,63 @@
 package br.dev.mauriciocaminha.todolist.repository;
 
 import br.dev.mauriciocaminha.todolist.entities.TaskModel;
+import br.dev.mauriciocaminha.todolist.entities.TaskPriority;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface TaskRepository extends JpaRepository<TaskModel, UUID> {
     List<TaskModel> findByUserId(UUID userId);
-    List<TaskModel> findByUserIdAndPriority(UUID userId, String priority);
+    List<TaskModel> findByUserIdAndPriority(UUID userId, TaskPriority priority);
+
+    // Keyset pagination on (createdAt, id)
+    Slice<TaskModel> findByUserIdOrderByCreatedAtAscIdAsc(UUID userId, Pageable pageable);
+
+    @Query("select t from tb_tasks t where t.userId = :userId"
+            + " and (t.createdAt > :createdAt or (t.createdAt = :createdAt and t.id > :id))"
+            + " order by t.createdAt asc, t.id asc")
+    Slice<TaskModel> findByUserIdAfter(UUID userId, LocalDateTime createdAt, UUID id, Pageable pageable);
+
+    // Must be consumed inside a transaction and closed
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from tb_tasks t where t.userId = :userId order by t.createdAt asc, t.id asc")
+    Stream<TaskModel> streamByUserId(UUID userId);
+
+    // Ownership-checked writes: a single statement each, returning the affected row count (0 or 1)
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update tb_tasks t set"
+            + " t.title = coalesce(:title, t.title),"
+            + " t.description = coalesce(:description, t.description),"
+            + " t.priority = coalesce(:priority, t.priority),"
+            + " t.startAt = coalesce(:startAt, t.startAt),"
+            + " t.endAt = coalesce(:endAt, t.endAt),"
+            + " t.updatedAt = :now"
+            + " where t.id = :id and t.userId = :userId")
+    int updateByIdAndUserId(UUID id, UUID userId, String title, String description, TaskPriority priority,
+                            LocalDateTime startAt, LocalDateTime endAt, LocalDateTime now);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update tb_tasks t set t.endAt = :now, t.updatedAt = :now where t.id = :id and t.userId = :userId")
+    int completeByIdAndUserId(UUID id, UUID userId, LocalDateTime now);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from tb_tasks t where t.id = :id and t.userId = :userId")
+    int deleteByIdAndUserId(UUID id, UUID userId);
 }
@@ -2,9 +2,18 @@ package br.dev.mauriciocaminha.todolist.repository;
 
 import br.dev.mauriciocaminha.todolist.entities.UserModel;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.UUID;
 
 public interface UserRepository extends JpaRepository<UserModel, UUID> {
     UserModel findByUsername(String username);
+
+    @Transactional
+    @Modifying
+    @Query("update tb_users u set u.password = :newHash where u.id = :id and u.password = :oldHash")
+    int updatePasswordIfUnchanged(@Param("id") UUID id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
 }
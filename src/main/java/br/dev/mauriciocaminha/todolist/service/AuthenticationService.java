@@ -1,15 +1,66 @@
 package br.dev.mauriciocaminha.todolist.service;
 
+import at.favre.lib.crypto.bcrypt.BCrypt;
 import br.dev.mauriciocaminha.todolist.entities.UserModel;
+import br.dev.mauriciocaminha.todolist.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
 @Service
 public class AuthenticationService {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthenticationService.class);
+
+    static final int MIN_COST = 10;
+    static final int MAX_COST = 16;
+
+    private final PasswordWorkerPool passwordWorkerPool;
+    private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final int cost;
+    private final Set<UUID> rehashing = ConcurrentHashMap.newKeySet();
+
+    // cost <= 0 calibrates the work factor at startup so a verify takes about targetLatency
+    @Autowired
+    public AuthenticationService(PasswordWorkerPool passwordWorkerPool,
+                                 UserRepository userRepository,
+                                 UserCache userCache,
+                                 @Value("${todolist.auth.bcrypt.cost:0}") int cost,
+                                 @Value("${todolist.auth.bcrypt.target-latency:PT0.25S}") Duration targetLatency) {
+        this.passwordWorkerPool = passwordWorkerPool;
+        this.userRepository = userRepository;
+        this.userCache = userCache;
+        this.cost = cost > 0 ? cost : calibrate(targetLatency);
+    }
+
+    public int getCost() {
+        return this.cost;
+    }
+
     // Simple wrapper for authentication logic used by the filter
     public boolean verifyPassword(UserModel user, String rawPassword) {
-        var verifier = at.favre.lib.crypto.bcrypt.BCrypt.verifyer();
-        return verifier.verify(rawPassword.toCharArray(), user.getPassword()).verified;
+        var storedHash = user.getPassword();
+        var verified = this.passwordWorkerPool.execute("verify", () ->
+                BCrypt.verifyer().verify(rawPassword.toCharArray(), storedHash).verified);
+
+        if (verified && user.getId() != null && costOf(storedHash) != this.cost) {
+            this.rehashAsync(user.getId(), storedHash, rawPassword);
+        }
+        return verified;
+    }
+
+    // New: hash a raw password with the current work factor (bcrypt runs on the password worker pool)
+    public String hashPassword(String rawPassword) {
+        return this.passwordWorkerPool.execute("hash", () ->
+                BCrypt.withDefaults().hashToString(this.cost, rawPassword.toCharArray()));
     }
 
     // New helper: build Basic auth header from username/password
@@ -17,4 +68,61 @@ public class AuthenticationService {
         var token = java.util.Base64.getEncoder().encodeToString((username + ":" + password).getBytes());
         return "Basic " + token;
     }
+
+    // Re-hash with the current cost and persist, without holding up the login that triggered it
+    private void rehashAsync(UUID userId, String storedHash, String rawPassword) {
+        if (!this.rehashing.add(userId)) return;
+
+        var accepted = this.passwordWorkerPool.submit("rehash", () -> {
+            try {
+                var newHash = BCrypt.withDefaults().hashToString(this.cost, rawPassword.toCharArray());
+                // Only replaces the hash we verified, so a concurrent password change wins
+                if (this.userRepository.updatePasswordIfUnchanged(userId, storedHash, newHash) > 0) {
+                    this.userCache.invalidate(userId);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not rehash password of user {}", userId, e);
+            } finally {
+                this.rehashing.remove(userId);
+            }
+        });
+        if (!accepted) {
+            // Pool cheio: tenta de novo no proximo login
+            this.rehashing.remove(userId);
+        }
+    }
+
+    // Work factor encoded in a "$2a$12$..." hash, or -1 when it cannot be read
+    static int costOf(String hash) {
+        if (hash == null || hash.length() < 7 || hash.charAt(0) != '$') return -1;
+        var end = hash.indexOf('$', 1);
+        if (end < 0 || end + 3 >= hash.length() || hash.charAt(end + 3) != '$') return -1;
+        var tens = hash.charAt(end + 1) - '0';
+        var units = hash.charAt(end + 2) - '0';
+        if (tens < 0 || tens > 9 || units < 0 || units > 9) return -1;
+        return tens * 10 + units;
+    }
+
+    // Each cost step doubles the work, so measure MIN_COST once and extrapolate
+    private static int calibrate(Duration targetLatency) {
+        var password = "calibration".toCharArray();
+        var hash = BCrypt.withDefaults().hash(MIN_COST, password);
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            var start = System.nanoTime();
+            BCrypt.verifyer().verify(password, hash);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        var cost = MIN_COST;
+        var estimate = best;
+        while (cost < MAX_COST && estimate * 2 <= targetLatency.toNanos()) {
+            estimate *= 2;
+            cost++;
+        }
+        log.info("bcrypt cost calibrated to {} (~{} ms per verify, target {} ms)",
+                cost, estimate / 1_000_000, targetLatency.toMillis());
+        return cost;
+    }
 }
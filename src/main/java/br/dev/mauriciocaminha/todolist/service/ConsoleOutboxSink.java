@@ -0,0 +1,42 @@
+package br.dev.mauriciocaminha.todolist.service;
+
+import br.dev.mauriciocaminha.todolist.entities.OutboxEventModel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Default sink: prints events as console notifications.
+ *
+ * Batches go through {@link NotificationService#deliver}, which waits for
+ * queue room instead of dropping; publish returns only once the dispatcher
+ * has written the batch, so it leaves the outbox only when it is on the stream.
+ */
+@Component
+@ConditionalOnProperty(name = "todolist.outbox.sink", havingValue = "console", matchIfMissing = true)
+public class ConsoleOutboxSink implements OutboxSink {
+
+    private final NotificationService notificationService;
+
+    @Autowired
+    public ConsoleOutboxSink(NotificationService notificationService) {
+        this.notificationService = notificationService;
+    }
+
+    @Override
+    public void publish(List<OutboxEventModel> events) throws IOException {
+        try {
+            this.notificationService.deliver(events).get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while delivering notifications");
+        }
+    }
+}
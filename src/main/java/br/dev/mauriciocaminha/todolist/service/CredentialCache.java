@@ -0,0 +1,186 @@
+package br.dev.mauriciocaminha.todolist.service;
+
+import br.dev.mauriciocaminha.todolist.utils.ObjectPool;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache of recently verified Basic credentials, so repeated requests from the
+ * same client skip the user lookup and the bcrypt verify.
+ *
+ * Entries are keyed by an HMAC of username and password under a per-process
+ * random key, so raw passwords are never kept in memory. The cache is an LRU
+ * bounded to {@code max-entries}, every entry expires after the configured
+ * TTL, and a per-user index of keys makes invalidation proportional to the
+ * user's own entries rather than to the cache size.
+ */
+@Component
+public class CredentialCache {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private record Entry(UUID userId, long expiresAt) { }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Entry> entries;
+    private final Map<UUID, Set<String>> keysByUser = new HashMap<>();
+    private long epoch;
+    private final ObjectPool<Mac> macs;
+    private final long ttlNanos;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    @Autowired
+    public CredentialCache(@Value("${todolist.auth.cache.ttl:PT5M}") Duration ttl,
+                           @Value("${todolist.auth.cache.max-entries:10000}") int maxEntries,
+                           MeterRegistry meterRegistry) {
+        this.ttlNanos = ttl.toNanos();
+
+        var secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        var key = new SecretKeySpec(secret, HMAC_ALGORITHM);
+        this.macs = new ObjectPool<>(() -> {
+            try {
+                var instance = Mac.getInstance(HMAC_ALGORITHM);
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        }, Runtime.getRuntime().availableProcessors() * 4);
+
+        this.hits = Counter.builder("auth.credential.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("auth.credential.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("auth.credential.cache.evictions").register(meterRegistry);
+
+        // Access-ordered: the eldest entry is the least recently used, dropped in O(1) once the cache is full
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > maxEntries) {
+                    unindex(eldest.getKey(), eldest.getValue());
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        Gauge.builder("auth.credential.cache.size", this, CredentialCache::size).register(meterRegistry);
+    }
+
+    // Returns the userId of a previously verified credential, or null on miss
+    public UUID get(String username, String password) {
+        var key = this.keyOf(username, password);
+        this.lock.lock();
+        try {
+            var entry = this.entries.get(key);
+            if (entry != null && System.nanoTime() - entry.expiresAt() > 0) {
+                this.remove(key, entry);
+                entry = null;
+            }
+            if (entry == null) {
+                this.misses.increment();
+                return null;
+            }
+            this.hits.increment();
+            return entry.userId();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    // Current invalidation epoch; take it before loading the user so a concurrent invalidation is not undone by put
+    public long epoch() {
+        this.lock.lock();
+        try {
+            return this.epoch;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public void put(String username, String password, UUID userId, long epoch) {
+        var key = this.keyOf(username, password);
+        this.lock.lock();
+        try {
+            if (this.epoch != epoch) return;
+
+            var previous = this.entries.put(key, new Entry(userId, System.nanoTime() + this.ttlNanos));
+            if (previous != null) this.unindex(key, previous);
+            this.keysByUser.computeIfAbsent(userId, id -> new HashSet<>(2)).add(key);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    // Drops every cached credential of the user (password changed, user removed...)
+    public void invalidate(UUID userId) {
+        this.lock.lock();
+        try {
+            this.epoch++;
+            var keys = this.keysByUser.remove(userId);
+            if (keys == null) return;
+            for (var key : keys) {
+                this.entries.remove(key);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public int size() {
+        this.lock.lock();
+        try {
+            return this.entries.size();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    // Both below run under the lock
+    private void remove(String key, Entry entry) {
+        this.entries.remove(key);
+        this.unindex(key, entry);
+    }
+
+    private void unindex(String key, Entry entry) {
+        var keys = this.keysByUser.get(entry.userId());
+        if (keys != null && keys.remove(key) && keys.isEmpty()) {
+            this.keysByUser.remove(entry.userId());
+        }
+    }
+
+    private String keyOf(String username, String password) {
+        var mac = this.macs.acquire();
+        try {
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            mac.update(password.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(mac.doFinal());
+        } finally {
+            this.macs.release(mac);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package br.dev.mauriciocaminha.todolist.service;
+
+import br.dev.mauriciocaminha.todolist.entities.TaskPriority;
+import br.dev.mauriciocaminha.todolist.repository.OutboxEventRepository;
+import br.dev.mauriciocaminha.todolist.repository.TaskRepository;
+import br.dev.mauriciocaminha.todolist.repository.UserRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the hot repository queries before the instance reports ready.
+ *
+ * Every pooled connection is opened once, then each query is executed
+ * {@code iterations} times against a random user that owns nothing, so the
+ * Hibernate query plans, H2's per-connection statement cache and the JIT are
+ * warm when real traffic arrives. Application runners finish before the
+ * readiness state flips to accepting traffic. Writes match no row.
+ */
+@Component
+public class DatabaseWarmup implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseWarmup.class);
+
+    private final DataSource dataSource;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final int iterations;
+
+    @Autowired
+    public DatabaseWarmup(DataSource dataSource,
+                          TaskRepository taskRepository,
+                          UserRepository userRepository,
+                          OutboxEventRepository outboxEventRepository,
+                          @Value("${todolist.db.warmup.iterations:0}") int iterations) {
+        this.dataSource = dataSource;
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.outboxEventRepository = outboxEventRepository;
+        this.iterations = iterations;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws SQLException {
+        if (this.iterations <= 0) return;
+
+        var started = System.nanoTime();
+        this.openPool();
+
+        var userId = UUID.randomUUID();
+        var page = PageRequest.ofSize(20);
+        var priorities = TaskPriority.values();
+        for (int i = 0; i < this.iterations; i++) {
+            var now = LocalDateTime.now();
+            this.taskRepository.findByUserId(userId);
+            this.taskRepository.findByUserIdAndPriority(userId, priorities[i % priorities.length]);
+            this.taskRepository.findByUserIdOrderByCreatedAtAscIdAsc(userId, page);
+            this.taskRepository.findByUserIdAfter(userId, now, userId, page);
+            this.taskRepository.existsById(userId);
+            this.taskRepository.updateByIdAndUserId(userId, userId, null, null, null, null, null, now);
+            this.taskRepository.completeByIdAndUserId(userId, userId, now);
+            this.taskRepository.deleteByIdAndUserId(userId, userId);
+            this.userRepository.findByUsername(userId.toString());
+            this.outboxEventRepository.findAllByOrderByIdAsc(page);
+        }
+
+        log.info("Database warm-up: {} iterations in {} ms", this.iterations,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    // Holds every connection at once, so the pool is full instead of filling up under the first requests
+    private void openPool() throws SQLException {
+        // The pool sits under the statement-counting wrapper
+        var size = this.dataSource.isWrapperFor(HikariDataSource.class)
+                ? this.dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize() : 1;
+        var connections = new ArrayList<Connection>(size);
+        try {
+            for (int i = 0; i < size; i++) {
+                connections.add(this.dataSource.getConnection());
+            }
+        } finally {
+            for (var connection : connections) {
+                connection.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package br.dev.mauriciocaminha.todolist.service;
+
+import br.dev.mauriciocaminha.todolist.entities.OutboxEventModel;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Appends events as NDJSON to a local log file and syncs it before returning.
+ *
+ * The file is the replayable record of everything published: {@link #replay}
+ * reads it back in order. Because delivery is at-least-once, a line may appear
+ * twice after a crash; consumers dedupe on the event id.
+ */
+@Component
+@ConditionalOnProperty(name = "todolist.outbox.sink", havingValue = "file")
+public class FileOutboxSink implements OutboxSink, DisposableBean {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+    private final FileChannel channel;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    @Autowired
+    public FileOutboxSink(@Value("${todolist.outbox.file:outbox.ndjson}") Path path, ObjectMapper objectMapper) throws IOException {
+        this.path = path;
+        this.objectMapper = objectMapper;
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        // Single writer, so appending is just writing at the end
+        var size = this.channel.size();
+        this.channel.position(size);
+
+        // A crash mid-append leaves a torn last line; start on a fresh one so new events stay readable
+        if (size > 0) {
+            var last = ByteBuffer.allocate(1);
+            this.channel.read(last, size - 1);
+            if (last.get(0) != '\n') {
+                this.channel.write(ByteBuffer.wrap(new byte[] { '\n' }));
+            }
+        }
+    }
+
+    @Override
+    public void publish(List<OutboxEventModel> events) throws IOException {
+        var lines = new StringBuilder(events.size() * 160);
+        for (var event : events) {
+            lines.append(this.objectMapper.writeValueAsString(event)).append('\n');
+        }
+        var buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+
+        // A lock rather than synchronized: blocking file I/O inside a monitor would pin a virtual thread
+        this.writeLock.lock();
+        try {
+            while (buffer.hasRemaining()) {
+                this.channel.write(buffer);
+            }
+            this.channel.force(false);
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    public void replay(Consumer<OutboxEventModel> consumer) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(this.path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                OutboxEventModel event;
+                try {
+                    event = this.objectMapper.readValue(line, OutboxEventModel.class);
+                } catch (JsonProcessingException e) {
+                    continue; // torn write
+                }
+                consumer.accept(event);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        this.channel.close();
+    }
+}
@@ -0,0 +1,76 @@
+package br.dev.mauriciocaminha.todolist.service;
+
+import br.dev.mauriciocaminha.todolist.errors.TooManyRequestsException;
+import br.dev.mauriciocaminha.todolist.utils.TokenBucketLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Caps password checks per client IP and per username, so guessing traffic is
+ * refused before it costs a user lookup or a bcrypt verify.
+ *
+ * Only attempts that would reach the database or bcrypt are counted: requests
+ * served by a session token or the verified-credential cache never get here.
+ * The IP is checked first, so a throttled client cannot fill the username
+ * table with keys of its choosing.
+ */
+@Component
+public class LoginThrottle {
+
+    // tb_users.username is VARCHAR(255): longer names cannot exist, so truncating there never merges real users
+    private static final int MAX_USERNAME_KEY = 255;
+
+    private final boolean enabled;
+    private final TokenBucketLimiter byIp;
+    private final TokenBucketLimiter byUsername;
+
+    private final Counter throttledByIp;
+    private final Counter throttledByUsername;
+
+    @Autowired
+    public LoginThrottle(@Value("${todolist.auth.throttle.enabled:true}") boolean enabled,
+                         @Value("${todolist.auth.throttle.ip.capacity:20}") int ipCapacity,
+                         @Value("${todolist.auth.throttle.ip.refill:PT1S}") Duration ipRefill,
+                         @Value("${todolist.auth.throttle.username.capacity:5}") int usernameCapacity,
+                         @Value("${todolist.auth.throttle.username.refill:PT12S}") Duration usernameRefill,
+                         @Value("${todolist.auth.throttle.max-keys:100000}") int maxKeys,
+                         MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        var shards = Runtime.getRuntime().availableProcessors() * 4;
+        this.byIp = new TokenBucketLimiter(ipCapacity, ipRefill, shards, maxKeys);
+        this.byUsername = new TokenBucketLimiter(usernameCapacity, usernameRefill, shards, maxKeys);
+
+        this.throttledByIp = Counter.builder("auth.throttled").tag("key", "ip").register(meterRegistry);
+        this.throttledByUsername = Counter.builder("auth.throttled").tag("key", "username").register(meterRegistry);
+        Gauge.builder("auth.throttle.keys", this, throttle -> throttle.byIp.size() + throttle.byUsername.size())
+                .register(meterRegistry);
+        FunctionCounter.builder("auth.throttle.evictions", this,
+                throttle -> throttle.byIp.getEvictions() + throttle.byUsername.getEvictions()).register(meterRegistry);
+    }
+
+    // Call right before a password check; throws when either bucket is empty
+    public void check(String clientIp, String username) {
+        if (!this.enabled) return;
+
+        var now = System.nanoTime();
+        var wait = this.byIp.tryAcquire(clientIp == null ? "" : clientIp, now);
+        if (wait > 0) {
+            this.throttledByIp.increment();
+            throw new TooManyRequestsException("Too many login attempts.", Duration.ofNanos(wait));
+        }
+
+        var key = username == null ? "" : username.length() > MAX_USERNAME_KEY ? username.substring(0, MAX_USERNAME_KEY) : username;
+        wait = this.byUsername.tryAcquire(key, now);
+        if (wait > 0) {
+            this.throttledByUsername.increment();
+            throw new TooManyRequestsException("Too many login attempts.", Duration.ofNanos(wait));
+        }
+    }
+}
@@ -1,25 +1,223 @@
 package br.dev.mauriciocaminha.todolist.service;
 
+import br.dev.mauriciocaminha.todolist.entities.OutboxEventModel;
 import br.dev.mauriciocaminha.todolist.entities.TaskModel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Publishes user notifications without doing any I/O on the caller's thread.
+ *
+ * Every notify call only enqueues a small event on a bounded queue; a single
+ * background dispatcher drains up to {@code batchSize} events at a time and
+ * writes them with one call to the output stream. When the queue is full the
+ * overflow policy decides which event is dropped; callers are never blocked.
+ *
+ * Outbox batches go through {@link #deliver} instead: it waits for room rather
+ * than dropping, and its future completes only once the batch is written.
+ */
 @Service
-public class NotificationService {
+public class NotificationService implements DisposableBean {
+
+    public enum OverflowPolicy { DROP_NEWEST, DROP_OLDEST }
+
+    enum Type { TASK_CREATED, TASK_DELETED, MESSAGE }
+
+    // Only ids and strings are captured, so queued events do not keep entities alive
+    private record Event(Type type, UUID userId, Object payload, long enqueuedAt, CompletableFuture<Void> written) {
+
+        Event(Type type, UUID userId, Object payload, long enqueuedAt) {
+            this(type, userId, payload, enqueuedAt, null);
+        }
+    }
+
+    private static final Event POISON = new Event(Type.MESSAGE, null, null, 0);
+
+    private final BlockingQueue<Event> queue;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final PrintStream out;
+    private final Thread dispatcher;
+    private volatile boolean stopped;
+
+    private final Map<Type, Counter> dropped = new EnumMap<>(Type.class);
+    private final Timer dispatchLatency;
+    private final DistributionSummary batchSizes;
+
+    @Autowired
+    public NotificationService(@Value("${todolist.notifications.queue-capacity:1024}") int queueCapacity,
+                               @Value("${todolist.notifications.batch-size:256}") int batchSize,
+                               @Value("${todolist.notifications.overflow-policy:DROP_NEWEST}") OverflowPolicy overflowPolicy,
+                               MeterRegistry meterRegistry) {
+        this(queueCapacity, batchSize, overflowPolicy, System.out, meterRegistry);
+    }
+
+    public NotificationService(int queueCapacity, int batchSize, OverflowPolicy overflowPolicy,
+                               PrintStream out, MeterRegistry meterRegistry) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+        this.out = out;
+
+        for (var type : Type.values()) {
+            this.dropped.put(type, Counter.builder("notifications.dropped")
+                    .tag("type", type.name().toLowerCase(Locale.ROOT)).register(meterRegistry));
+        }
+        this.dispatchLatency = Timer.builder("notifications.dispatch.latency").register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("notifications.batch.size").register(meterRegistry);
+        Gauge.builder("notifications.queue.depth", this.queue, BlockingQueue::size).register(meterRegistry);
+
+        this.dispatcher = new Thread(this::dispatchLoop, "notification-dispatcher");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
 
-    // Simple placeholder notification service that logs to stdout.
     public void notifyTaskCreated(UUID userId, TaskModel task) {
-        System.out.println("[Notification] User: " + userId + " created task: " + task.getId());
+        this.notifyTaskCreated(userId, task.getId());
+    }
+
+    public void notifyTaskCreated(UUID userId, UUID taskId) {
+        this.publish(new Event(Type.TASK_CREATED, userId, taskId, System.nanoTime()));
     }
 
     // New: notify task deleted
     public void notifyTaskDeleted(UUID userId, UUID taskId) {
-        System.out.println("[Notification] User: " + userId + " deleted task: " + taskId);
+        this.publish(new Event(Type.TASK_DELETED, userId, taskId, System.nanoTime()));
     }
 
     // New: send generic message
     public void sendMessage(UUID userId, String message) {
-        System.out.println("[Notification] User: " + userId + " message: " + message);
+        this.publish(new Event(Type.MESSAGE, userId, message, System.nanoTime()));
+    }
+
+    // Blocks while the queue is full; the future completes once the last event is on the stream
+    public CompletableFuture<Void> deliver(List<OutboxEventModel> events) throws InterruptedException {
+        var written = new CompletableFuture<Void>();
+        if (this.stopped) {
+            written.completeExceptionally(new IOException("Notification service stopped"));
+            return written;
+        }
+        for (int i = 0; i < events.size(); i++) {
+            var event = events.get(i);
+            var type = switch (event.getType()) {
+                case OutboxEventModel.TASK_CREATED -> Type.TASK_CREATED;
+                case OutboxEventModel.TASK_DELETED -> Type.TASK_DELETED;
+                default -> Type.MESSAGE;
+            };
+            var payload = type == Type.MESSAGE ? event.getType() + " " + event.getTaskId() : event.getTaskId();
+            this.queue.put(new Event(type, event.getUserId(), payload, System.nanoTime(),
+                    i == events.size() - 1 ? written : null));
+        }
+        if (events.isEmpty()) written.complete(null);
+        return written;
+    }
+
+    public int getQueueDepth() {
+        return this.queue.size();
+    }
+
+    private void publish(Event event) {
+        if (this.queue.offer(event)) return;
+
+        if (this.overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+            var oldest = this.queue.poll();
+            if (oldest != null) this.dropped.get(oldest.type()).increment();
+            if (this.queue.offer(event)) return;
+        }
+        this.dropped.get(event.type()).increment();
+    }
+
+    private void dispatchLoop() {
+        var batch = new ArrayList<Event>(this.batchSize);
+        var text = new StringBuilder(this.batchSize * 96);
+        var running = true;
+        while (running) {
+            try {
+                batch.add(this.queue.take());
+            } catch (InterruptedException e) {
+                running = false;
+            }
+            this.queue.drainTo(batch, this.batchSize - batch.size());
+
+            for (var event : batch) {
+                if (event == POISON) {
+                    running = false;
+                    continue;
+                }
+                format(event, text);
+            }
+            if (!text.isEmpty()) {
+                this.out.print(text);
+                this.out.flush();
+            }
+            // PrintStream swallows I/O errors; report them to whoever waits for the batch
+            var failed = this.out.checkError();
+
+            var now = System.nanoTime();
+            var written = 0;
+            for (var event : batch) {
+                if (event == POISON) continue;
+                this.dispatchLatency.record(now - event.enqueuedAt(), TimeUnit.NANOSECONDS);
+                written++;
+                if (event.written() != null) {
+                    if (failed) {
+                        event.written().completeExceptionally(new IOException("Notification write failed"));
+                    } else {
+                        event.written().complete(null);
+                    }
+                }
+            }
+            if (written > 0) this.batchSizes.record(written);
+
+            batch.clear();
+            text.setLength(0);
+        }
+
+        // Anything that arrived after shutdown is never written
+        this.stopped = true;
+        for (var event : this.queue) {
+            if (event.written() != null) {
+                event.written().completeExceptionally(new IOException("Notification service stopped"));
+            }
+        }
+    }
+
+    private static void format(Event event, StringBuilder text) {
+        text.append("[Notification] User: ").append(event.userId());
+        switch (event.type()) {
+            case TASK_CREATED -> text.append(" created task: ").append(event.payload());
+            case TASK_DELETED -> text.append(" deleted task: ").append(event.payload());
+            case MESSAGE -> text.append(" message: ").append(event.payload());
+        }
+        text.append(System.lineSeparator());
+    }
+
+    // Flushes whatever is still queued before shutdown
+    @Override
+    public void destroy() throws InterruptedException {
+        if (!this.queue.offer(POISON, 5, TimeUnit.SECONDS)) {
+            this.dispatcher.interrupt();
+        }
+        this.dispatcher.join(TimeUnit.SECONDS.toMillis(5));
     }
 }
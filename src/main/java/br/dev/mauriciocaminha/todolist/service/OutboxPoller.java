@@ -0,0 +1,118 @@
+package br.dev.mauriciocaminha.todolist.service;
+
+import br.dev.mauriciocaminha.todolist.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves events from the outbox table to the {@link OutboxSink}.
+ *
+ * A single thread reads the oldest events, publishes them and deletes them in
+ * one transaction. If the sink fails nothing is deleted and the same batch is
+ * retried on the next poll, so delivery is at-least-once and later events
+ * never overtake earlier ones (per user included). Events are ordered by id,
+ * i.e. by insertion, which matches commit order for a user's sequential requests.
+ */
+@Component
+public class OutboxPoller implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxPoller.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final ScheduledExecutorService scheduler;
+
+    private final Counter published;
+    private final Counter failures;
+    private final Timer publishDuration;
+
+    @Autowired
+    public OutboxPoller(OutboxEventRepository outboxEventRepository,
+                        OutboxSink sink,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${todolist.outbox.batch-size:100}") int batchSize,
+                        @Value("${todolist.outbox.poll-interval:PT0.5S}") Duration pollInterval,
+                        MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sink = sink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+
+        this.published = Counter.builder("outbox.published").register(meterRegistry);
+        this.failures = Counter.builder("outbox.publish.failures").register(meterRegistry);
+        this.publishDuration = Timer.builder("outbox.publish.duration").register(meterRegistry);
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "outbox-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (!pollInterval.isZero()) {
+            var millis = pollInterval.toMillis();
+            this.scheduler.scheduleWithFixedDelay(this::drain, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Publishes until the outbox is empty or the sink fails
+    private void drain() {
+        try {
+            int count;
+            do {
+                count = this.publishPending();
+            } while (count == this.batchSize);
+        } catch (Exception e) {
+            this.failures.increment();
+            log.warn("Outbox publish failed, will retry: {}", e.toString());
+        }
+    }
+
+    // Publishes one batch; returns how many events left the outbox
+    public int publishPending() {
+        var count = this.transactionTemplate.execute(status -> {
+            var events = this.outboxEventRepository.findAllByOrderByIdAsc(PageRequest.of(0, this.batchSize));
+            if (events.isEmpty()) return 0;
+
+            var startedAt = System.nanoTime();
+            try {
+                this.sink.publish(events);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            this.publishDuration.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+
+            this.outboxEventRepository.deleteAllInBatch(events);
+            return events.size();
+        });
+        this.published.increment(count);
+        return count;
+    }
+
+    @Override
+    public void destroy() {
+        this.scheduler.shutdown();
+        try {
+            this.scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package br.dev.mauriciocaminha.todolist.service;
+
+import br.dev.mauriciocaminha.todolist.entities.OutboxEventModel;
+import br.dev.mauriciocaminha.todolist.entities.TaskModel;
+import br.dev.mauriciocaminha.todolist.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Records notification events in the outbox table.
+ *
+ * Must be called inside the transaction that makes the change, so an event is
+ * stored if and only if that change commits. {@link OutboxPoller} publishes them.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class OutboxService {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    public void recordTaskCreated(UUID userId, TaskModel task) {
+        this.outboxEventRepository.save(new OutboxEventModel(userId, OutboxEventModel.TASK_CREATED, task.getId()));
+    }
+
+    public void recordTasksCreated(UUID userId, List<TaskModel> tasks) {
+        var events = new ArrayList<OutboxEventModel>(tasks.size());
+        for (var task : tasks) {
+            events.add(new OutboxEventModel(userId, OutboxEventModel.TASK_CREATED, task.getId()));
+        }
+        this.outboxEventRepository.saveAll(events);
+    }
+
+    public void recordTaskDeleted(UUID userId, UUID taskId) {
+        this.outboxEventRepository.save(new OutboxEventModel(userId, OutboxEventModel.TASK_DELETED, taskId));
+    }
+}
@@ -0,0 +1,17 @@
+package br.dev.mauriciocaminha.todolist.service;
+
+import br.dev.mauriciocaminha.todolist.entities.OutboxEventModel;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination of published outbox events.
+ *
+ * Events arrive in outbox order. A batch only leaves the outbox once
+ * {@link #publish} returns normally, so implementations must be durable by
+ * then and must tolerate seeing a batch again after a crash (at-least-once).
+ */
+public interface OutboxSink {
+    void publish(List<OutboxEventModel> events) throws IOException;
+}
@@ -0,0 +1,131 @@
+package br.dev.mauriciocaminha.todolist.service;
+
+import br.dev.mauriciocaminha.todolist.errors.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Dedicated, fixed-size pool for bcrypt work (hashing and verification).
+ *
+ * Keeps servlet threads from all being pinned on crypto during a login burst:
+ * at most {@code threads} hashes run at once, at most {@code queueCapacity}
+ * wait, and anything beyond that fails fast with {@link ServiceOverloadedException}.
+ */
+@Component
+public class PasswordWorkerPool implements DisposableBean {
+
+    private final ThreadPoolExecutor executor;
+    private final Duration retryAfter;
+    private final MeterRegistry meterRegistry;
+    private final Counter rejected;
+    private final Map<String, Timer[]> timers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public PasswordWorkerPool(@Value("${todolist.auth.crypto.threads:0}") int threads,
+                              @Value("${todolist.auth.crypto.queue-capacity:64}") int queueCapacity,
+                              @Value("${todolist.auth.crypto.retry-after:PT1S}") Duration retryAfter,
+                              MeterRegistry meterRegistry) {
+        if (threads <= 0) {
+            threads = Runtime.getRuntime().availableProcessors();
+        }
+        var counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    var thread = new Thread(runnable, "password-worker-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.retryAfter = retryAfter;
+        this.meterRegistry = meterRegistry;
+
+        this.rejected = Counter.builder("auth.crypto.rejected").register(meterRegistry);
+        Gauge.builder("auth.crypto.queue.depth", this.executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("auth.crypto.active", this.executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    // Runs the task on the pool and waits for its result on the calling thread
+    public <T> T execute(String operation, Supplier<T> task) {
+        var timers = this.timersFor(operation);
+        var wait = timers[0];
+        var duration = timers[1];
+        var submittedAt = System.nanoTime();
+
+        try {
+            var future = this.executor.submit(() -> {
+                var startedAt = System.nanoTime();
+                wait.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return task.get();
+                } finally {
+                    duration.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+            return future.get();
+        } catch (RejectedExecutionException e) {
+            this.rejected.increment();
+            throw new ServiceOverloadedException("Too many concurrent password operations.", this.retryAfter);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password operation.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // Fire-and-forget background work; returns false instead of throwing when the pool is saturated
+    public boolean submit(String operation, Runnable task) {
+        var timers = this.timersFor(operation);
+        var submittedAt = System.nanoTime();
+        try {
+            this.executor.execute(() -> {
+                var startedAt = System.nanoTime();
+                timers[0].record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    task.run();
+                } finally {
+                    timers[1].record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            this.rejected.increment();
+            return false;
+        }
+    }
+
+    private Timer[] timersFor(String operation) {
+        return this.timers.computeIfAbsent(operation, op -> new Timer[] {
+                Timer.builder("auth.crypto.wait").tag("operation", op).register(this.meterRegistry),
+                Timer.builder("auth.crypto.duration").tag("operation", op).register(this.meterRegistry)
+        });
+    }
+
+    public int getQueueDepth() {
+        return this.executor.getQueue().size();
+    }
+
+    @Override
+    public void destroy() {
+        this.executor.shutdownNow();
+    }
+}
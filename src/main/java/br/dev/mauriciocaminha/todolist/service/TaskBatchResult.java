@@ -0,0 +1,17 @@
+package br.dev.mauriciocaminha.todolist.service;
+
+import br.dev.mauriciocaminha.todolist.entities.TaskModel;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Outcome of one item of POST /tasks/batch, in request order
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskBatchResult(int index, int status, TaskModel task, String error) {
+
+    public static TaskBatchResult created(int index, TaskModel task) {
+        return new TaskBatchResult(index, 201, task, null);
+    }
+
+    public static TaskBatchResult rejected(int index, String error) {
+        return new TaskBatchResult(index, 400, null, error);
+    }
+}
@@ -0,0 +1,33 @@
+package br.dev.mauriciocaminha.todolist.service;
+
+import br.dev.mauriciocaminha.todolist.entities.TaskModel;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+// Opaque keyset cursor: position (createdAt, id) of the last task already returned
+record TaskCursor(LocalDateTime createdAt, UUID id) {
+
+    static TaskCursor after(TaskModel task) {
+        return new TaskCursor(task.getCreatedAt(), task.getId());
+    }
+
+    String encode() {
+        var raw = this.createdAt + "|" + this.id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static TaskCursor decode(String cursor) {
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            var separator = raw.indexOf('|');
+            if (separator < 0) throw new IllegalArgumentException("Invalid cursor.");
+            return new TaskCursor(LocalDateTime.parse(raw.substring(0, separator)), UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+    }
+}
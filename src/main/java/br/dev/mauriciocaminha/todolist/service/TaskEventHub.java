@@ -0,0 +1,259 @@
+package br.dev.mauriciocaminha.todolist.service;
+
+import br.dev.mauriciocaminha.todolist.entities.TaskModel;
+import br.dev.mauriciocaminha.todolist.utils.AfterCommit;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans task changes out to the Server-Sent Events subscribers of their owner.
+ *
+ * An idle subscriber is just an async {@link SseEmitter} plus an empty queue:
+ * no thread is held per connection. Events are serialized once per change and
+ * written by a drain task per subscriber on its own virtual thread, so a write
+ * stuck on one slow socket never delays anyone else. Each subscriber buffers at most
+ * {@code bufferSize} unsent events; a client that falls further behind is
+ * disconnected (it can reconnect and re-read the list) instead of making the
+ * server buffer without bound.
+ */
+@Component
+public class TaskEventHub implements DisposableBean {
+
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String COMPLETED = "completed";
+    public static final String DELETED = "deleted";
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record TaskEvent(String type, UUID taskId, TaskModel task) { }
+
+    // Serialized once, shared by every subscriber; a null name means heartbeat comment
+    private record Message(long id, String name, String data) { }
+
+    private static final Message HEARTBEAT = new Message(0, null, null);
+
+    private static final class Subscriber {
+        final UUID userId;
+        final SseEmitter emitter;
+        final Queue<Message> pending = new ConcurrentLinkedQueue<>();
+        final AtomicInteger size = new AtomicInteger();
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        volatile boolean closed;
+
+        Subscriber(UUID userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+    }
+
+    private final Map<UUID, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final ExecutorService dispatcher;
+    private final ScheduledExecutorService heartbeat;
+
+    private final Counter sent;
+    private final Counter evicted;
+
+    @Autowired
+    public TaskEventHub(ObjectMapper objectMapper,
+                        @Value("${todolist.tasks.events.buffer-size:64}") int bufferSize,
+                        @Value("${todolist.tasks.events.timeout:PT30M}") Duration timeout,
+                        @Value("${todolist.tasks.events.heartbeat:PT15S}") Duration heartbeat,
+                        MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+
+        // At most one drain task per subscriber runs at a time; a write stuck on a slow socket only parks its own virtual thread
+        this.dispatcher = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("task-events-", 1).factory());
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "task-events-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (!heartbeat.isZero()) {
+            var millis = heartbeat.toMillis();
+            this.heartbeat.scheduleWithFixedDelay(this::sendHeartbeat, millis, millis, TimeUnit.MILLISECONDS);
+        }
+
+        this.sent = Counter.builder("task.events.sent").register(meterRegistry);
+        this.evicted = Counter.builder("task.events.evicted").register(meterRegistry);
+        Gauge.builder("task.events.subscribers", this.subscriberCount, AtomicInteger::get).register(meterRegistry);
+    }
+
+    // The opening comment commits the response right away, so clients see the headers (EventSource
+    // onopen) without waiting for the first event or heartbeat. Before the handler returns the emitter
+    // only buffers it, so this never writes on the request thread.
+    public SseEmitter subscribe(UUID userId) {
+        var emitter = new SseEmitter(this.timeoutMillis);
+        try {
+            emitter.send(SseEmitter.event().comment(""));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this.subscribe(userId, emitter);
+    }
+
+    // Registers an emitter created by the caller (custom timeout, tests)
+    public SseEmitter subscribe(UUID userId, SseEmitter emitter) {
+        var subscriber = new Subscriber(userId, emitter);
+        emitter.onCompletion(() -> this.remove(subscriber));
+        emitter.onTimeout(() -> this.remove(subscriber));
+        emitter.onError(error -> this.remove(subscriber));
+
+        this.subscribers.compute(userId, (key, set) -> {
+            if (set == null) set = ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+        this.subscriberCount.incrementAndGet();
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return this.subscriberCount.get();
+    }
+
+    // Delivered after the surrounding transaction commits (or right away when there is none)
+    public void publish(UUID userId, String type, UUID taskId, TaskModel task) {
+        if (!this.subscribers.containsKey(userId)) return;
+
+        AfterCommit.run(() -> this.dispatch(userId, new TaskEvent(type, taskId, task)));
+    }
+
+    private void dispatch(UUID userId, TaskEvent taskEvent) {
+        var targets = this.subscribers.get(userId);
+        if (targets == null) return;
+
+        String data;
+        try {
+            data = this.objectMapper.writeValueAsString(taskEvent);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+        var message = new Message(this.sequence.incrementAndGet(), taskEvent.type(), data);
+        for (var subscriber : targets) {
+            this.offer(subscriber, message);
+        }
+    }
+
+    private void sendHeartbeat() {
+        for (var targets : this.subscribers.values()) {
+            for (var subscriber : targets) {
+                this.offer(subscriber, HEARTBEAT);
+            }
+        }
+    }
+
+    private void offer(Subscriber subscriber, Message message) {
+        if (subscriber.closed) return;
+        if (subscriber.size.incrementAndGet() > this.bufferSize) {
+            subscriber.size.decrementAndGet();
+            this.evict(subscriber);
+            return;
+        }
+        subscriber.pending.add(message);
+        this.schedule(subscriber);
+    }
+
+    // The emitter is only ever touched by the dispatcher, so a blocked write never stalls publishers
+    private void evict(Subscriber subscriber) {
+        if (subscriber.closed) return;
+        subscriber.closed = true;
+        this.evicted.increment();
+        this.remove(subscriber);
+        this.schedule(subscriber);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            this.dispatcher.execute(() -> this.drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            if (subscriber.closed) {
+                subscriber.pending.clear();
+                subscriber.emitter.complete();
+                return;
+            }
+            Message message;
+            while (!subscriber.closed && (message = subscriber.pending.poll()) != null) {
+                subscriber.size.decrementAndGet();
+                try {
+                    if (message.name() == null) {
+                        subscriber.emitter.send(SseEmitter.event().comment(""));
+                    } else {
+                        subscriber.emitter.send(SseEmitter.event()
+                                .id(Long.toString(message.id()))
+                                .name(message.name())
+                                .data(message.data(), MediaType.APPLICATION_JSON));
+                        this.sent.increment();
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // Connection is gone; the emitter must not be completed after a failed send
+                    subscriber.closed = true;
+                    subscriber.pending.clear();
+                    this.remove(subscriber);
+                    return;
+                }
+            }
+            subscriber.scheduled.set(false);
+        } while ((subscriber.closed || !subscriber.pending.isEmpty()) && subscriber.scheduled.compareAndSet(false, true));
+    }
+
+    private void remove(Subscriber subscriber) {
+        var removed = new AtomicBoolean();
+        this.subscribers.computeIfPresent(subscriber.userId, (key, set) -> {
+            removed.set(set.remove(subscriber));
+            return set.isEmpty() ? null : set;
+        });
+        if (removed.get()) {
+            this.subscriberCount.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        this.heartbeat.shutdownNow();
+        for (var targets : this.subscribers.values()) {
+            for (var subscriber : targets) {
+                subscriber.closed = true;
+                this.schedule(subscriber);
+            }
+        }
+        this.dispatcher.shutdown();
+    }
+}
@@ -0,0 +1,302 @@
+package br.dev.mauriciocaminha.todolist.service;
+
+import br.dev.mauriciocaminha.todolist.entities.TaskModel;
+import br.dev.mauriciocaminha.todolist.entities.TaskPriority;
+import br.dev.mauriciocaminha.todolist.repository.TaskRepository;
+import br.dev.mauriciocaminha.todolist.utils.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * Per-user cache of the full task list, bounded by an estimate of the bytes it holds.
+ *
+ * Each task is kept as a compact immutable {@link TaskSnapshot} (ids packed
+ * into longs, timestamps as UTC epoch seconds plus nanos), sorted by
+ * (createdAt, id). Reads hand out fresh {@link TaskModel} copies; the
+ * priority filter runs over the snapshot.
+ *
+ * Writers report their change after commit and the cached list is patched in
+ * place: creates are inserted, updates replace an existing task, deletes
+ * remove it. Timestamps are taken before the UPDATE waits for its row lock,
+ * so concurrent updates can commit in the opposite order; an update reporting
+ * an older {@code updatedAt} than the cached task drops the user's list
+ * instead of guessing which write the database kept. A load that overlaps any
+ * write for the same user is returned but not stored, so a slow read can never
+ * put back a list that misses a committed change.
+ */
+@Component
+public class TaskListCache {
+
+    private static final long NULL_TIME = Long.MIN_VALUE;
+    private static final int STRIPES = 256;
+
+    // Rough heap footprint: snapshot object, its array slot and two strings (header + array header each)
+    private static final int SNAPSHOT_OVERHEAD_BYTES = 100 + 2 * 40;
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    public record TaskSnapshot(long idHigh, long idLow, String title, String description, byte priority,
+                               long startAt, int startNano, long endAt, int endNano,
+                               long createdAt, int createdNano, long updatedAt, int updatedNano) {
+
+        static TaskSnapshot of(TaskModel task) {
+            var id = task.getId();
+            return new TaskSnapshot(id.getMostSignificantBits(), id.getLeastSignificantBits(),
+                    task.getTitle(), task.getDescription(),
+                    task.getPriority() == null ? 0 : (byte) task.getPriority().getRank(),
+                    seconds(task.getStartAt()), nanos(task.getStartAt()),
+                    seconds(task.getEndAt()), nanos(task.getEndAt()),
+                    seconds(task.getCreatedAt()), nanos(task.getCreatedAt()),
+                    seconds(task.getUpdatedAt()), nanos(task.getUpdatedAt()));
+        }
+
+        boolean isUpdatedBefore(TaskSnapshot other) {
+            return this.updatedAt < other.updatedAt
+                    || (this.updatedAt == other.updatedAt && this.updatedNano < other.updatedNano);
+        }
+
+        boolean hasId(UUID id) {
+            return this.idHigh == id.getMostSignificantBits() && this.idLow == id.getLeastSignificantBits();
+        }
+
+        long bytes() {
+            return SNAPSHOT_OVERHEAD_BYTES
+                    + (this.title == null ? 0 : this.title.length())
+                    + (this.description == null ? 0 : this.description.length());
+        }
+
+        TaskModel toModel(UUID userId) {
+            var task = new TaskModel();
+            task.setId(new UUID(this.idHigh, this.idLow));
+            task.setUserId(userId);
+            if (this.title != null) {
+                try {
+                    task.setTitle(this.title);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            task.setDescription(this.description);
+            task.setPriority(this.priority == 0 ? null : TaskPriority.fromRank(this.priority));
+            task.setStartAt(time(this.startAt, this.startNano));
+            task.setEndAt(time(this.endAt, this.endNano));
+            task.setCreatedAt(time(this.createdAt, this.createdNano));
+            task.setUpdatedAt(time(this.updatedAt, this.updatedNano));
+            return task;
+        }
+    }
+
+    private static final Comparator<TaskSnapshot> ORDER = Comparator
+            .comparingLong(TaskSnapshot::createdAt)
+            .thenComparingInt(TaskSnapshot::createdNano)
+            .thenComparingLong(TaskSnapshot::idHigh)
+            .thenComparingLong(TaskSnapshot::idLow);
+
+    private record Entry(TaskSnapshot[] tasks, long bytes) { }
+
+    private final TaskRepository taskRepository;
+    private final long maxBytes;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<UUID, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final long[] stripes = new long[STRIPES];
+    private long totalBytes;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    @Autowired
+    public TaskListCache(TaskRepository taskRepository,
+                         @Value("${todolist.tasks.cache.max-bytes:33554432}") long maxBytes,
+                         MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        this.maxBytes = maxBytes;
+
+        this.hits = Counter.builder("tasks.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("tasks.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("tasks.cache.evictions").register(meterRegistry);
+        Gauge.builder("tasks.cache.bytes", this, TaskListCache::getTotalBytes).register(meterRegistry);
+    }
+
+    public List<TaskModel> list(UUID userId) {
+        var tasks = this.snapshots(userId);
+        var result = new ArrayList<TaskModel>(tasks.length);
+        for (var task : tasks) {
+            result.add(task.toModel(userId));
+        }
+        return result;
+    }
+
+    public List<TaskModel> listByPriority(UUID userId, TaskPriority priority) {
+        var rank = (byte) priority.getRank();
+        var result = new ArrayList<TaskModel>();
+        for (var task : this.snapshots(userId)) {
+            if (task.priority() == rank) {
+                result.add(task.toModel(userId));
+            }
+        }
+        return result;
+    }
+
+    // The snapshot is only taken if the owner's list is cached; nothing is allocated otherwise
+    public void onCreated(UUID userId, TaskModel task) {
+        AfterCommit.run(() -> this.patch(userId, tasks -> {
+            var snapshot = TaskSnapshot.of(task);
+            var position = Arrays.binarySearch(tasks, snapshot, ORDER);
+            if (position >= 0) return tasks;
+            position = -position - 1;
+            var patched = new TaskSnapshot[tasks.length + 1];
+            System.arraycopy(tasks, 0, patched, 0, position);
+            patched[position] = snapshot;
+            System.arraycopy(tasks, position, patched, position + 1, tasks.length - position);
+            return patched;
+        }));
+    }
+
+    public void onUpdated(UUID userId, TaskModel task) {
+        AfterCommit.run(() -> this.patch(userId, tasks -> {
+            var snapshot = TaskSnapshot.of(task);
+            var taskId = task.getId();
+            for (int i = 0; i < tasks.length; i++) {
+                if (tasks[i].hasId(taskId)) {
+                    // Commit order can differ from timestamp order: reload rather than pick a winner
+                    if (snapshot.isUpdatedBefore(tasks[i])) return null;
+                    var patched = tasks.clone();
+                    patched[i] = snapshot;
+                    return patched;
+                }
+            }
+            return tasks;
+        }));
+    }
+
+    public void onDeleted(UUID userId, UUID taskId) {
+        AfterCommit.run(() -> this.patch(userId, tasks -> {
+            for (int i = 0; i < tasks.length; i++) {
+                if (tasks[i].hasId(taskId)) {
+                    var patched = new TaskSnapshot[tasks.length - 1];
+                    System.arraycopy(tasks, 0, patched, 0, i);
+                    System.arraycopy(tasks, i + 1, patched, i, tasks.length - i - 1);
+                    return patched;
+                }
+            }
+            return tasks;
+        }));
+    }
+
+    public long getTotalBytes() {
+        this.lock.lock();
+        try {
+            return this.totalBytes;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private TaskSnapshot[] snapshots(UUID userId) {
+        long stamp;
+        this.lock.lock();
+        try {
+            var entry = this.entries.get(userId);
+            if (entry != null) {
+                this.hits.increment();
+                return entry.tasks();
+            }
+            stamp = this.stripes[stripe(userId)];
+        } finally {
+            this.lock.unlock();
+        }
+
+        this.misses.increment();
+        var loaded = this.taskRepository.findByUserId(userId);
+        var tasks = new TaskSnapshot[loaded.size()];
+        for (int i = 0; i < tasks.length; i++) {
+            tasks[i] = TaskSnapshot.of(loaded.get(i));
+        }
+        Arrays.sort(tasks, ORDER);
+
+        this.lock.lock();
+        try {
+            // A write for this user landed while we were reading: serve the result, don't keep it
+            if (this.stripes[stripe(userId)] == stamp && !this.entries.containsKey(userId)) {
+                this.store(userId, tasks);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+        return tasks;
+    }
+
+    // A change that returns null drops the user's list
+    private void patch(UUID userId, UnaryOperator<TaskSnapshot[]> change) {
+        this.lock.lock();
+        try {
+            this.stripes[stripe(userId)]++;
+            var entry = this.entries.get(userId);
+            if (entry == null) return;
+            this.remove(userId, entry);
+            var patched = change.apply(entry.tasks());
+            if (patched != null) {
+                this.store(userId, patched);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    // Caller holds the lock
+    private void store(UUID userId, TaskSnapshot[] tasks) {
+        long bytes = ENTRY_OVERHEAD_BYTES;
+        for (var task : tasks) {
+            bytes += task.bytes();
+        }
+        if (bytes > this.maxBytes) return;
+
+        var iterator = this.entries.entrySet().iterator();
+        while (this.totalBytes + bytes > this.maxBytes && iterator.hasNext()) {
+            var eldest = iterator.next();
+            this.totalBytes -= eldest.getValue().bytes();
+            iterator.remove();
+            this.evictions.increment();
+        }
+        this.entries.put(userId, new Entry(tasks, bytes));
+        this.totalBytes += bytes;
+    }
+
+    private void remove(UUID userId, Entry entry) {
+        this.entries.remove(userId);
+        this.totalBytes -= entry.bytes();
+    }
+
+    private static int stripe(UUID userId) {
+        return userId.hashCode() & (STRIPES - 1);
+    }
+
+    // Seconds and nanos stay apart: nanos since the epoch in one long overflow after 2262
+    private static long seconds(LocalDateTime time) {
+        return time == null ? NULL_TIME : time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static int nanos(LocalDateTime time) {
+        return time == null ? 0 : time.getNano();
+    }
+
+    private static LocalDateTime time(long seconds, int nanos) {
+        if (seconds == NULL_TIME) return null;
+        return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,9 @@
+package br.dev.mauriciocaminha.todolist.service;
+
+import br.dev.mauriciocaminha.todolist.entities.TaskModel;
+
+import java.util.List;
+
+// One page of a user's tasks; nextCursor is null on the last page
+public record TaskPage(List<TaskModel> items, String nextCursor) {
+}
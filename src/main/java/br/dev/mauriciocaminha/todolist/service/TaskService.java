@@ -1,31 +1,142 @@
 package br.dev.mauriciocaminha.todolist.service;
 
 import br.dev.mauriciocaminha.todolist.entities.TaskModel;
+import br.dev.mauriciocaminha.todolist.entities.TaskPriority;
 import br.dev.mauriciocaminha.todolist.repository.TaskRepository;
-import br.dev.mauriciocaminha.todolist.utils.Utils;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.servlet.http.HttpServletRequest;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
+@Timed("service.invocations")
 public class TaskService {
 
+    // Column sizes of tb_tasks (V1__baseline.sql)
+    private static final int TITLE_MAX_LENGTH = 50;
+    private static final int DESCRIPTION_MAX_LENGTH = 255;
+
     @Autowired
     private TaskRepository taskRepository;
 
     @Autowired
-    private NotificationService notificationService;
+    private OutboxService outboxService;
+
+    @Autowired
+    private TaskEventHub taskEventHub;
+
+    @Autowired
+    private TaskListCache taskListCache;
+
+    @Autowired
+    private TaskVersions taskVersions;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
+    @Value("${todolist.tasks.page.default-size:50}")
+    private int defaultPageSize = 50;
+
+    @Value("${todolist.tasks.page.max-size:500}")
+    private int maxPageSize = 500;
+
+    @Value("${todolist.tasks.batch.max-size:1000}")
+    private int maxBatchSize = 1000;
+
+    @Transactional
     public TaskModel create(TaskModel taskModel, HttpServletRequest request) {
         var userId = (UUID) request.getAttribute("userId");
         taskModel.setUserId(userId);
 
-        var currentData = LocalDateTime.now();
+        validateDates(taskModel, LocalDateTime.now());
+
+        var task = this.taskRepository.save(taskModel);
+
+        // Notify through the outbox: stored only if this transaction commits
+        this.outboxService.recordTaskCreated(userId, task);
+        this.taskEventHub.publish(userId, TaskEventHub.CREATED, task.getId(), task);
+        this.taskListCache.onCreated(userId, task);
+        this.taskVersions.bump(userId);
+
+        return task;
+    }
+
+    // New: create many tasks at once; invalid items are reported, valid ones go out in JDBC batches
+    @Transactional
+    public List<TaskBatchResult> createBatch(List<TaskModel> tasks, HttpServletRequest request) {
+        var userId = (UUID) request.getAttribute("userId");
+        if (tasks.size() > this.maxBatchSize) {
+            throw new IllegalArgumentException("A batch may contain at most " + this.maxBatchSize + " tasks.");
+        }
+
+        var results = new TaskBatchResult[tasks.size()];
+        var valid = new ArrayList<TaskModel>(tasks.size());
+        var validIndexes = new ArrayList<Integer>(tasks.size());
+        var now = LocalDateTime.now();
+
+        for (int i = 0; i < tasks.size(); i++) {
+            var taskModel = tasks.get(i);
+            try {
+                // A single bad row must not abort the whole batch insert, so column constraints are checked up front
+                if (taskModel.getTitle() == null || taskModel.getDescription() == null || taskModel.getPriority() == null) {
+                    throw new IllegalArgumentException("Title, description and priority are required.");
+                }
+                if (taskModel.getTitle().length() > TITLE_MAX_LENGTH) {
+                    throw new IllegalArgumentException("Title must be at most " + TITLE_MAX_LENGTH + " characters long.");
+                }
+                if (taskModel.getDescription().length() > DESCRIPTION_MAX_LENGTH) {
+                    throw new IllegalArgumentException("Description must be at most " + DESCRIPTION_MAX_LENGTH + " characters long.");
+                }
+                validateDates(taskModel, now);
+            } catch (IllegalArgumentException e) {
+                results[i] = TaskBatchResult.rejected(i, e.getMessage());
+                continue;
+            }
+            taskModel.setUserId(userId);
+            valid.add(taskModel);
+            validIndexes.add(i);
+        }
+
+        var saved = this.taskRepository.saveAll(valid);
+        for (int i = 0; i < saved.size(); i++) {
+            results[validIndexes.get(i)] = TaskBatchResult.created(validIndexes.get(i), saved.get(i));
+        }
+
+        if (!saved.isEmpty()) {
+            this.outboxService.recordTasksCreated(userId, saved);
+            for (var task : saved) {
+                this.taskEventHub.publish(userId, TaskEventHub.CREATED, task.getId(), task);
+                this.taskListCache.onCreated(userId, task);
+            }
+            this.taskVersions.bump(userId);
+        }
+
+        return Arrays.asList(results);
+    }
+
+    public int getMaxBatchSize() {
+        return this.maxBatchSize;
+    }
+
+    private static void validateDates(TaskModel taskModel, LocalDateTime currentData) {
+        if (taskModel.getStartAt() == null || taskModel.getEndAt() == null) {
+            throw new IllegalArgumentException("Start date and End date are required.");
+        }
+
         if (currentData.isAfter(taskModel.getStartAt()) || currentData.isAfter(taskModel.getEndAt())) {
             throw new IllegalArgumentException("Start date and End date must be in the future.");
         }
@@ -33,38 +144,64 @@ public class TaskService {
         if (taskModel.getStartAt().isAfter(taskModel.getEndAt())) {
             throw new IllegalArgumentException("Start date must be before End date.");
         }
-
-        var task = this.taskRepository.save(taskModel);
-
-        // Notify (simple in-memory/console notification)
-        try {
-            this.notificationService.notifyTaskCreated(userId, task);
-        } catch (Exception ignored) { }
-
-        return task;
     }
 
     public List<TaskModel> listAllByUser(HttpServletRequest request) {
         var userId = (UUID) request.getAttribute("userId");
-        return this.taskRepository.findByUserId(userId);
+        return this.taskListCache.list(userId);
     }
 
-    public TaskModel updateTask(UUID taskId, TaskModel taskModel, HttpServletRequest request) {
+    // New: keyset page of the user's tasks ordered by (createdAt, id)
+    public TaskPage listPageByUser(String cursor, Integer limit, HttpServletRequest request) {
         var userId = (UUID) request.getAttribute("userId");
+        var size = limit == null ? this.defaultPageSize : limit;
+        if (size < 1 || size > this.maxPageSize) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + this.maxPageSize + ".");
+        }
 
-        var task = this.taskRepository.findById(taskId).orElse(null);
-        if (task == null) {
-            throw new NoSuchElementException("Task not found.");
+        var pageable = PageRequest.ofSize(size);
+        Slice<TaskModel> slice;
+        if (cursor == null || cursor.isBlank()) {
+            slice = this.taskRepository.findByUserIdOrderByCreatedAtAscIdAsc(userId, pageable);
+        } else {
+            var after = TaskCursor.decode(cursor);
+            slice = this.taskRepository.findByUserIdAfter(userId, after.createdAt(), after.id(), pageable);
         }
-        if (!task.getUserId().equals(userId)) {
-            throw new SecurityException("You do not have permission to update this task.");
+
+        var items = slice.getContent();
+        var nextCursor = slice.hasNext() ? TaskCursor.after(items.get(items.size() - 1)).encode() : null;
+        return new TaskPage(items, nextCursor);
+    }
+
+    // New: push every task of the user to the consumer without materializing the whole list
+    @Transactional(readOnly = true)
+    public void streamAllByUser(UUID userId, Consumer<TaskModel> consumer) {
+        try (var tasks = this.taskRepository.streamByUserId(userId)) {
+            tasks.forEach(task -> {
+                consumer.accept(task);
+                this.entityManager.detach(task);
+            });
         }
+    }
 
-        Utils.copyNonNullProperties(taskModel, task);
+    // One transaction: the row read back is the one this update wrote, not a concurrent writer's
+    @Transactional
+    public TaskModel updateTask(UUID taskId, TaskModel taskModel, HttpServletRequest request) {
+        var userId = (UUID) request.getAttribute("userId");
 
-        var updatedTask = this.taskRepository.save(task);
+        // Single UPDATE ... WHERE id = ? AND userId = ?; only non-null fields change
+        var updated = this.taskRepository.updateByIdAndUserId(taskId, userId,
+                taskModel.getTitle(), taskModel.getDescription(), taskModel.getPriority(),
+                taskModel.getStartAt(), taskModel.getEndAt(), LocalDateTime.now());
+        if (updated == 0) {
+            throw this.notFoundOrForbidden(taskId, "You do not have permission to update this task.");
+        }
 
-        return updatedTask;
+        var task = this.taskRepository.findById(taskId).orElseThrow(() -> new NoSuchElementException("Task not found."));
+        this.taskEventHub.publish(userId, TaskEventHub.UPDATED, taskId, task);
+        this.taskListCache.onUpdated(userId, task);
+        this.taskVersions.bump(userId);
+        return task;
     }
 
     // New helper: find task by id and ensure ownership
@@ -76,29 +213,44 @@ public class TaskService {
     }
 
     // New helper: delete a task by id (only owner)
+    @Transactional
     public void deleteTask(UUID taskId, HttpServletRequest request) {
         var userId = (UUID) request.getAttribute("userId");
-        var task = this.taskRepository.findById(taskId).orElse(null);
-        if (task == null) throw new NoSuchElementException("Task not found.");
-        if (!task.getUserId().equals(userId)) throw new SecurityException("Forbidden");
-        this.taskRepository.deleteById(taskId);
+        if (this.taskRepository.deleteByIdAndUserId(taskId, userId) == 0) {
+            throw this.notFoundOrForbidden(taskId, "Forbidden");
+        }
+
+        this.outboxService.recordTaskDeleted(userId, taskId);
+        this.taskEventHub.publish(userId, TaskEventHub.DELETED, taskId, null);
+        this.taskListCache.onDeleted(userId, taskId);
+        this.taskVersions.bump(userId);
     }
 
-    // New: list tasks by priority for current user
+    // New: list tasks by priority for current user (filtered from the cached list)
     public List<TaskModel> listByPriority(String priority, HttpServletRequest request) {
         var userId = (UUID) request.getAttribute("userId");
-        return this.taskRepository.findByUserIdAndPriority(userId, priority);
+        return this.taskListCache.listByPriority(userId, TaskPriority.from(priority));
     }
 
     // New: mark task as completed (set endAt to now)
+    @Transactional
     public TaskModel markAsCompleted(UUID taskId, HttpServletRequest request) {
         var userId = (UUID) request.getAttribute("userId");
-        var task = this.taskRepository.findById(taskId).orElse(null);
-        if (task == null) throw new NoSuchElementException("Task not found.");
-        if (!task.getUserId().equals(userId)) throw new SecurityException("Forbidden");
+        if (this.taskRepository.completeByIdAndUserId(taskId, userId, LocalDateTime.now()) == 0) {
+            throw this.notFoundOrForbidden(taskId, "Forbidden");
+        }
+        var task = this.taskRepository.findById(taskId).orElseThrow(() -> new NoSuchElementException("Task not found."));
+        this.taskEventHub.publish(userId, TaskEventHub.COMPLETED, taskId, task);
+        this.taskListCache.onUpdated(userId, task);
+        this.taskVersions.bump(userId);
+        return task;
+    }
 
-        task.setEndAt(LocalDateTime.now());
-        var updated = this.taskRepository.save(task);
-        return updated;
+    // Only reached when a conditional write matched no row: tells the two cases apart by primary key
+    private RuntimeException notFoundOrForbidden(UUID taskId, String forbiddenMessage) {
+        if (!this.taskRepository.existsById(taskId)) {
+            return new NoSuchElementException("Task not found.");
+        }
+        return new SecurityException(forbiddenMessage);
     }
 }
@@ -0,0 +1,46 @@
+package br.dev.mauriciocaminha.todolist.service;
+
+import br.dev.mauriciocaminha.todolist.utils.AfterCommit;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-user version of the task list, used as its ETag.
+ *
+ * Users are hashed onto a fixed array of counters, so memory stays constant
+ * however many users there are. Users sharing a stripe also share bumps: a
+ * write by one only costs the other a full response, never a wrong 304.
+ *
+ * Bumps happen after commit and readers take the tag before loading, so a tag
+ * can only ever be older than the data sent with it.
+ */
+@Component
+public class TaskVersions {
+
+    private static final int STRIPES = 4096;
+
+    private final AtomicLongArray versions = new AtomicLongArray(STRIPES);
+
+    // Counters restart with the process; the boot time keeps tags from an earlier run from matching
+    private final String epoch = Long.toHexString(System.currentTimeMillis());
+
+    public void bump(UUID userId) {
+        var stripe = stripe(userId);
+        AfterCommit.run(() -> this.versions.incrementAndGet(stripe));
+    }
+
+    public String etag(UUID userId) {
+        return this.etag(userId, "");
+    }
+
+    // A strong tag names one representation: other encodings of the same list need their own suffix
+    public String etag(UUID userId, String variant) {
+        return "\"" + this.epoch + "-" + Long.toHexString(this.versions.get(stripe(userId))) + variant + "\"";
+    }
+
+    private static int stripe(UUID userId) {
+        return (userId.hashCode() * 0x9E3779B9) >>> (32 - Integer.numberOfTrailingZeros(STRIPES));
+    }
+}
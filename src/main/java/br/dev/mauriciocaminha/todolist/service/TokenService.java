@@ -0,0 +1,193 @@
+package br.dev.mauriciocaminha.todolist.service;
+
+import br.dev.mauriciocaminha.todolist.utils.ObjectPool;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Issues and verifies short-lived session tokens.
+ *
+ * A token is {@code base64url(payload) "." base64url(hmac)} where the payload
+ * is the user id (16 bytes) followed by the expiry in epoch seconds (8 bytes).
+ * Verifying is pure CPU work: no repository access and, apart from the
+ * returned UUID, no allocation.
+ */
+@Service
+public class TokenService {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int PAYLOAD_BYTES = 24;
+    private static final int SIGNATURE_BYTES = 32;
+    private static final int PAYLOAD_CHARS = 32;
+    private static final int SIGNATURE_CHARS = 43;
+    private static final int TOKEN_CHARS = PAYLOAD_CHARS + 1 + SIGNATURE_CHARS;
+
+    private static final byte[] DECODE = new byte[128];
+    static {
+        Arrays.fill(DECODE, (byte) -1);
+        var alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            DECODE[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    // Pooled scratch space so verification does not allocate
+    private static final class Scratch {
+        final byte[] bytes = new byte[PAYLOAD_BYTES + SIGNATURE_BYTES + 1];
+        final byte[] expected = new byte[SIGNATURE_BYTES];
+        Mac mac;
+    }
+
+    private final ObjectPool<Scratch> scratch;
+    private final Duration ttl;
+    private final Clock clock;
+
+    @Autowired
+    public TokenService(@Value("${todolist.auth.token.secret:}") String secret,
+                        @Value("${todolist.auth.token.ttl:PT15M}") Duration ttl) {
+        this(secret, ttl, Clock.systemUTC());
+    }
+
+    public TokenService(String secret, Duration ttl, Clock clock) {
+        this.ttl = ttl;
+        this.clock = clock;
+
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            // Sem segredo configurado: tokens valem so ate o proximo restart
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = Base64.getDecoder().decode(secret);
+        }
+        var key = new SecretKeySpec(keyBytes, HMAC_ALGORITHM);
+        this.scratch = new ObjectPool<>(() -> {
+            var s = new Scratch();
+            try {
+                s.mac = Mac.getInstance(HMAC_ALGORITHM);
+                s.mac.init(key);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+            return s;
+        }, Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    public Duration getTtl() {
+        return this.ttl;
+    }
+
+    public String issue(UUID userId) {
+        var expiresAt = this.clock.instant().plus(this.ttl).getEpochSecond();
+
+        var payload = new byte[PAYLOAD_BYTES];
+        putLong(payload, 0, userId.getMostSignificantBits());
+        putLong(payload, 8, userId.getLeastSignificantBits());
+        putLong(payload, 16, expiresAt);
+
+        var s = this.scratch.acquire();
+        byte[] signature;
+        try {
+            signature = s.mac.doFinal(payload);
+        } finally {
+            this.scratch.release(s);
+        }
+
+        var encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(payload) + "." + encoder.encodeToString(signature);
+    }
+
+    // Returns the userId of a valid, unexpired token, or null otherwise
+    public UUID verify(CharSequence token) {
+        return this.verify(token, 0, token.length());
+    }
+
+    public UUID verify(CharSequence token, int start, int end) {
+        if (end - start != TOKEN_CHARS || token.charAt(start + PAYLOAD_CHARS) != '.') {
+            return null;
+        }
+
+        var s = this.scratch.acquire();
+        try {
+            return this.verify(token, start, end, s);
+        } finally {
+            this.scratch.release(s);
+        }
+    }
+
+    private UUID verify(CharSequence token, int start, int end, Scratch s) {
+        var bytes = s.bytes;
+        if (!decode(token, start, start + PAYLOAD_CHARS, bytes, 0)
+                || !decode(token, start + PAYLOAD_CHARS + 1, end, bytes, PAYLOAD_BYTES)) {
+            return null;
+        }
+
+        try {
+            s.mac.update(bytes, 0, PAYLOAD_BYTES);
+            s.mac.doFinal(s.expected, 0);
+        } catch (ShortBufferException e) {
+            return null;
+        }
+
+        int diff = 0;
+        for (int i = 0; i < SIGNATURE_BYTES; i++) {
+            diff |= s.expected[i] ^ bytes[PAYLOAD_BYTES + i];
+        }
+        if (diff != 0) {
+            return null;
+        }
+
+        if (getLong(bytes, 16) <= this.clock.millis() / 1000) {
+            return null;
+        }
+        return new UUID(getLong(bytes, 0), getLong(bytes, 8));
+    }
+
+    // Unpadded base64url decode straight into the scratch buffer
+    private static boolean decode(CharSequence src, int start, int end, byte[] dst, int offset) {
+        int bits = 0;
+        int buffer = 0;
+        for (int i = start; i < end; i++) {
+            char c = src.charAt(i);
+            int value = c < 128 ? DECODE[c] : -1;
+            if (value < 0) {
+                return false;
+            }
+            buffer = (buffer << 6) | value;
+            bits += 6;
+            if (bits >= 8) {
+                bits -= 8;
+                dst[offset++] = (byte) (buffer >> bits);
+            }
+        }
+        // Leftover bits must be zero, otherwise several strings would map to the same token
+        return (buffer & ((1 << bits) - 1)) == 0;
+    }
+
+    private static void putLong(byte[] dst, int offset, long value) {
+        for (int i = 7; i >= 0; i--) {
+            dst[offset + i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+
+    private static long getLong(byte[] src, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (src[offset + i] & 0xFF);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,161 @@
+package br.dev.mauriciocaminha.todolist.service;
+
+import br.dev.mauriciocaminha.todolist.entities.UserModel;
+import br.dev.mauriciocaminha.todolist.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Read-through LRU cache in front of {@link UserRepository#findByUsername}.
+ *
+ * Caches misses too (unknown usernames), with a shorter TTL. Entries are
+ * immutable snapshots and every hit returns a fresh detached {@link UserModel},
+ * so callers can never mutate what other requests see.
+ *
+ * Writers must call {@link #invalidate} after their change is committed. Each
+ * invalidation bumps a generation; a lookup that read the database before the
+ * bump is not allowed to store its (possibly stale) result.
+ */
+@Component
+public class UserCache {
+
+    private record Snapshot(UUID id, String username, String name, String password,
+                            LocalDateTime createdAt, LocalDateTime updatedAt) { }
+
+    // snapshot == null is a cached "no such user"
+    private record Entry(Snapshot snapshot, long expiresAt) { }
+
+    private final UserRepository userRepository;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Entry> entries;
+    private long generation;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    @Autowired
+    public UserCache(UserRepository userRepository,
+                     @Value("${todolist.users.cache.ttl:PT1M}") Duration ttl,
+                     @Value("${todolist.users.cache.negative-ttl:PT10S}") Duration negativeTtl,
+                     @Value("${todolist.users.cache.max-entries:10000}") int maxEntries,
+                     MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.ttlNanos = ttl.toNanos();
+        this.negativeTtlNanos = negativeTtl.toNanos();
+
+        this.hits = Counter.builder("users.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("users.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("users.cache.evictions").register(meterRegistry);
+
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        Gauge.builder("users.cache.size", this, UserCache::size).register(meterRegistry);
+        Gauge.builder("users.cache.hit.ratio", this, cache -> {
+            var total = cache.hits.count() + cache.misses.count();
+            return total == 0 ? 0 : cache.hits.count() / total;
+        }).register(meterRegistry);
+    }
+
+    public UserModel findByUsername(String username) {
+        long seen;
+        this.lock.lock();
+        try {
+            var entry = this.entries.get(username);
+            if (entry != null && System.nanoTime() - entry.expiresAt() <= 0) {
+                this.hits.increment();
+                return toModel(entry.snapshot());
+            }
+            if (entry != null) {
+                this.entries.remove(username);
+            }
+            seen = this.generation;
+        } finally {
+            this.lock.unlock();
+        }
+
+        this.misses.increment();
+        var user = this.userRepository.findByUsername(username);
+        var snapshot = user == null ? null : new Snapshot(user.getId(), user.getUsername(), user.getName(),
+                user.getPassword(), user.getCreatedAt(), user.getUpdatedAt());
+
+        this.lock.lock();
+        try {
+            // An invalidation ran while we were reading: our result may predate it
+            if (this.generation == seen) {
+                var ttl = snapshot == null ? this.negativeTtlNanos : this.ttlNanos;
+                this.entries.put(username, new Entry(snapshot, System.nanoTime() + ttl));
+            }
+        } finally {
+            this.lock.unlock();
+        }
+        return toModel(snapshot);
+    }
+
+    // Call after the user row (or its absence) has changed and committed
+    public void invalidate(String username) {
+        this.lock.lock();
+        try {
+            this.generation++;
+            if (username != null) {
+                this.entries.remove(username);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    // For writers that only know the id (password rehash); scans, so keep it off hot paths
+    public void invalidate(UUID userId) {
+        this.lock.lock();
+        try {
+            this.generation++;
+            this.entries.values().removeIf(entry -> entry.snapshot() != null && userId.equals(entry.snapshot().id()));
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public int size() {
+        this.lock.lock();
+        try {
+            return this.entries.size();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private static UserModel toModel(Snapshot snapshot) {
+        if (snapshot == null) return null;
+        var user = new UserModel();
+        user.setId(snapshot.id());
+        user.setUsername(snapshot.username());
+        user.setName(snapshot.name());
+        user.setPassword(snapshot.password());
+        user.setCreatedAt(snapshot.createdAt());
+        user.setUpdatedAt(snapshot.updatedAt());
+        return user;
+    }
+}
@@ -1,38 +1,67 @@
 package br.dev.mauriciocaminha.todolist.service;
 
-import at.favre.lib.crypto.bcrypt.BCrypt;
 import br.dev.mauriciocaminha.todolist.entities.UserModel;
 import br.dev.mauriciocaminha.todolist.repository.UserRepository;
-import br.dev.mauriciocaminha.todolist.utils.Utils;
-import org.springframework.beans.BeanUtils;
+import br.dev.mauriciocaminha.todolist.utils.PatchApplier;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.UUID;
 
 @Service
+@Timed("service.invocations")
 public class UserService {
 
+    private static final PatchApplier<UserModel> USER_PATCH = PatchApplier.of(UserModel.class);
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CredentialCache credentialCache;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private TokenService tokenService;
+
     public UserModel create(UserModel userModel) {
-        var user = this.userRepository.findByUsername(userModel.getUsername());
+        var user = this.userCache.findByUsername(userModel.getUsername());
 
         if(user != null) {
             throw new IllegalArgumentException("User already exists.");
         }
 
-        var passwordHashed = BCrypt.withDefaults().hashToString(12, userModel.getPassword().toCharArray());
+        var passwordHashed = this.authenticationService.hashPassword(userModel.getPassword());
         userModel.setPassword(passwordHashed);
 
         var userCreated =  this.userRepository.save(userModel);
+        // Drops the cached "no such user" for this name
+        this.userCache.invalidate(userCreated.getUsername());
         return userCreated;
     }
 
+    // New: verify credentials once and issue a session token
+    public String login(String username, String password) {
+        if (username == null || password == null) {
+            throw new SecurityException("Invalid credentials.");
+        }
+        var user = this.userCache.findByUsername(username);
+        if (user == null || !this.authenticationService.verifyPassword(user, password)) {
+            throw new SecurityException("Invalid credentials.");
+        }
+        return this.tokenService.issue(user.getId());
+    }
+
     public UserModel findByUsername(String username) {
-        return this.userRepository.findByUsername(username);
+        return this.userCache.findByUsername(username);
     }
 
     // New: find user by id
@@ -45,25 +74,33 @@ public class UserService {
         var user = this.userRepository.findById(userId).orElse(null);
         if (user == null) throw new NoSuchElementException("User not found.");
         this.userRepository.deleteById(userId);
+        this.userCache.invalidate(user.getUsername());
+        this.credentialCache.invalidate(userId);
     }
 
     // New: update user (copy non-null properties except password unless provided)
     public UserModel updateUser(UUID userId, UserModel incoming) {
         var user = this.userRepository.findById(userId).orElse(null);
         if (user == null) throw new NoSuchElementException("User not found.");
+        var previousUsername = user.getUsername();
 
         // If password present, hash it
         if (incoming.getPassword() != null && !incoming.getPassword().isBlank()) {
-            var passwordHashed = BCrypt.withDefaults().hashToString(12, incoming.getPassword().toCharArray());
+            var passwordHashed = this.authenticationService.hashPassword(incoming.getPassword());
             incoming.setPassword(passwordHashed);
         } else {
             incoming.setPassword(user.getPassword());
         }
 
-        // copy non-null (BeanUtils used only for remaining fields)
-        BeanUtils.copyProperties(incoming, user, Utils.getNullPropertyNames(incoming));
+        // copy non-null fields
+        USER_PATCH.apply(incoming, user);
 
         var updated = this.userRepository.save(user);
+        this.userCache.invalidate(previousUsername);
+        if (!Objects.equals(previousUsername, updated.getUsername())) {
+            this.userCache.invalidate(updated.getUsername());
+        }
+        this.credentialCache.invalidate(userId);
         return updated;
     }
 }
@@ -0,0 +1,47 @@
+package br.dev.mauriciocaminha.todolist.utils;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * Small lock-free pool of reusable, non-thread-safe helpers (Mac instances, scratch buffers).
+ *
+ * Replaces {@code ThreadLocal} caching, which stops paying off with virtual
+ * threads: every request gets a fresh thread, so a thread-local would be
+ * rebuilt on every call. Instances live in a fixed array of slots, so acquire
+ * and release never allocate; when every slot is empty a new instance is
+ * created, and when every slot is full the released one is dropped.
+ */
+public final class ObjectPool<T> {
+
+    private final AtomicReferenceArray<T> slots;
+    private final int mask;
+    private final Supplier<T> factory;
+
+    public ObjectPool(Supplier<T> factory, int capacity) {
+        var size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.factory = factory;
+    }
+
+    public T acquire() {
+        var start = (int) Thread.currentThread().threadId();
+        for (int i = 0; i <= this.mask; i++) {
+            var instance = this.slots.getAndSet((start + i) & this.mask, null);
+            if (instance != null) {
+                return instance;
+            }
+        }
+        return this.factory.get();
+    }
+
+    public void release(T instance) {
+        var start = (int) Thread.currentThread().threadId();
+        for (int i = 0; i <= this.mask; i++) {
+            if (this.slots.compareAndSet((start + i) & this.mask, null, instance)) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package br.dev.mauriciocaminha.todolist.utils;
+
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Copies every non-null property of a source bean onto a target of the same class.
+ *
+ * Same semantics as {@link Utils#copyNonNullProperties}, but the property
+ * accessors are resolved once per class and bound to generated lambdas, so
+ * applying a patch does no reflection and allocates nothing.
+ */
+public final class PatchApplier<T> {
+
+    private static final ClassValue<PatchApplier<?>> CACHE = new ClassValue<>() {
+        @Override
+        protected PatchApplier<?> computeValue(Class<?> type) {
+            return new PatchApplier<>(type);
+        }
+    };
+
+    private final List<Function<Object, Object>> getters;
+    private final List<BiConsumer<Object, Object>> setters;
+
+    @SuppressWarnings("unchecked")
+    public static <T> PatchApplier<T> of(Class<T> type) {
+        return (PatchApplier<T>) CACHE.get(type);
+    }
+
+    @SuppressWarnings("unchecked")
+    private PatchApplier(Class<T> type) {
+        var getters = new ArrayList<Function<Object, Object>>();
+        var setters = new ArrayList<BiConsumer<Object, Object>>();
+        try {
+            var lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+            for (PropertyDescriptor pd : Introspector.getBeanInfo(type, Object.class).getPropertyDescriptors()) {
+                var read = pd.getReadMethod();
+                var write = pd.getWriteMethod();
+                if (read == null || write == null) continue;
+
+                var getter = lookup.unreflect(read);
+                var setter = lookup.unreflect(write);
+                var boxed = MethodType.methodType(pd.getPropertyType()).wrap().returnType();
+
+                getters.add((Function<Object, Object>) LambdaMetafactory.metafactory(lookup, "apply",
+                        MethodType.methodType(Function.class),
+                        MethodType.methodType(Object.class, Object.class),
+                        getter,
+                        MethodType.methodType(boxed, type)).getTarget().invokeExact());
+                setters.add((BiConsumer<Object, Object>) LambdaMetafactory.metafactory(lookup, "accept",
+                        MethodType.methodType(BiConsumer.class),
+                        MethodType.methodType(void.class, Object.class, Object.class),
+                        setter,
+                        MethodType.methodType(void.class, type, boxed)).getTarget().invokeExact());
+            }
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot build patch applier for " + type.getName(), e);
+        }
+        this.getters = List.copyOf(getters);
+        this.setters = List.copyOf(setters);
+    }
+
+    public void apply(T source, T target) {
+        // Indexed access: an iterator would be the only allocation
+        for (int i = 0; i < this.getters.size(); i++) {
+            var value = this.getters.get(i).apply(source);
+            if (value != null) {
+                this.setters.get(i).accept(target, value);
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package br.dev.mauriciocaminha.todolist.utils;
+
+import jakarta.servlet.ServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Locale;
+
+/**
+ * Where the time of one request went, for the opt-in timing mode
+ * ({@code todolist.timing.enabled}).
+ *
+ * ServerTimingFilter stores one per request as a request attribute; the auth
+ * filter adds the credential phases, the repository listener the database
+ * time and the counting DataSource the query count. A request is served by
+ * one thread at a time, so plain fields are enough.
+ */
+public final class RequestTiming {
+
+    public static final String ATTRIBUTE = RequestTiming.class.getName();
+
+    public enum Phase {
+        PARSE, USER, BCRYPT, SERVICE, DB, JSON;
+
+        private final String metric = name().toLowerCase(Locale.ROOT);
+
+        public String metric() {
+            return this.metric;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final long started;
+    private final long[] nanos = new long[PHASES.length];
+    private int recorded;
+    private int queries;
+
+    private long handlerStarted;
+    private long dbAtHandler;
+    private long bodyStarted;
+    private long dbAtBody;
+    private long totalNanos;
+
+    public RequestTiming(long started) {
+        this.started = started;
+    }
+
+    // Null when timing is off or outside a request
+    public static RequestTiming of(ServletRequest request) {
+        return (RequestTiming) request.getAttribute(ATTRIBUTE);
+    }
+
+    // For code that has no request at hand (repositories, Hibernate)
+    public static RequestTiming current() {
+        var attributes = RequestContextHolder.getRequestAttributes();
+        return attributes == null ? null : (RequestTiming) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    public void add(Phase phase, long nanos) {
+        this.nanos[phase.ordinal()] += nanos;
+        this.recorded |= 1 << phase.ordinal();
+    }
+
+    public void countQuery() {
+        this.queries++;
+    }
+
+    public void handlerStarted(long now) {
+        this.handlerStarted = now;
+        this.dbAtHandler = this.nanos[Phase.DB.ordinal()];
+    }
+
+    // The first write wins: error pages may write a second body
+    public void bodyStarted(long now) {
+        if (this.bodyStarted != 0) return;
+        this.bodyStarted = now;
+        this.dbAtBody = this.nanos[Phase.DB.ordinal()];
+    }
+
+    // Service time is the handler's time minus its own repository calls; JSON is everything after the body started
+    public void finish(long now) {
+        this.totalNanos = now - this.started;
+        if (this.handlerStarted == 0) return;
+
+        var handlerEnded = this.bodyStarted != 0 ? this.bodyStarted : now;
+        var dbEnded = this.bodyStarted != 0 ? this.dbAtBody : this.nanos[Phase.DB.ordinal()];
+        this.add(Phase.SERVICE, Math.max(0, handlerEnded - this.handlerStarted - (dbEnded - this.dbAtHandler)));
+        if (this.bodyStarted != 0) {
+            this.add(Phase.JSON, now - this.bodyStarted);
+        }
+    }
+
+    public boolean has(Phase phase) {
+        return (this.recorded & (1 << phase.ordinal())) != 0;
+    }
+
+    public long nanos(Phase phase) {
+        return this.nanos[phase.ordinal()];
+    }
+
+    public int getQueries() {
+        return this.queries;
+    }
+
+    public long getTotalNanos() {
+        return this.totalNanos;
+    }
+
+    // Server-Timing value (W3C): phases that happened, in request order, then the total
+    public String toHeader() {
+        var header = new StringBuilder(160);
+        for (var phase : PHASES) {
+            if (!this.has(phase)) continue;
+            appendMetric(header, phase.metric(), this.nanos(phase));
+            if (phase == Phase.DB) {
+                header.append(";desc=\"").append(this.queries).append(" queries\"");
+            }
+            header.append(", ");
+        }
+        appendMetric(header, "total", this.totalNanos);
+        return header.toString();
+    }
+
+    private static void appendMetric(StringBuilder header, String name, long nanos) {
+        header.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.3f", nanos / 1e6));
+    }
+}
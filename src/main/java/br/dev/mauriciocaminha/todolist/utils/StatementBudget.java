@@ -0,0 +1,20 @@
+package br.dev.mauriciocaminha.todolist.utils;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * How many SQL statements one request to this handler may issue, auth
+ * included. Handlers without it get {@code todolist.db.statement-budget.default}.
+ * Sampled requests over budget are logged by StatementBudgetFilter.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface StatementBudget {
+
+    int value();
+}
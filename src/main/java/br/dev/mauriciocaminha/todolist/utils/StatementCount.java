@@ -0,0 +1,123 @@
+package br.dev.mauriciocaminha.todolist.utils;
+
+import jakarta.servlet.ServletRequest;
+
+import java.util.Locale;
+
+/**
+ * How many SQL statements the current thread sent to the database while the
+ * count was open, by kind.
+ *
+ * {@link StatementCountingDataSource} records into the count opened on the
+ * calling thread and every count enclosing it, so a test can open one around
+ * a whole call while the request filter keeps its own. Statements issued from
+ * other threads (async bodies, the outbox poller) are not seen.
+ */
+public final class StatementCount implements AutoCloseable {
+
+    public static final String ATTRIBUTE = StatementCount.class.getName();
+
+    public enum Kind {
+        SELECT, INSERT, UPDATE, DELETE, OTHER;
+
+        private final String metric = name().toLowerCase(Locale.ROOT);
+
+        public String metric() {
+            return this.metric;
+        }
+    }
+
+    private static final Kind[] KINDS = Kind.values();
+    private static final ThreadLocal<StatementCount> current = new ThreadLocal<>();
+
+    private final StatementCount parent;
+    private final int[] counts = new int[KINDS.length];
+    private int total;
+
+    // Filled in once the handler is known (StatementBudgetConfiguration)
+    private String endpoint;
+    private int budget = -1;
+
+    private StatementCount(StatementCount parent) {
+        this.parent = parent;
+    }
+
+    public static StatementCount open() {
+        var count = new StatementCount(current.get());
+        current.set(count);
+        return count;
+    }
+
+    // Null when the request was not sampled
+    public static StatementCount of(ServletRequest request) {
+        return (StatementCount) request.getAttribute(ATTRIBUTE);
+    }
+
+    public static void record(String sql) {
+        var count = current.get();
+        if (count == null) return;
+        var kind = kindOf(sql);
+        for (; count != null; count = count.parent) {
+            count.counts[kind.ordinal()]++;
+            count.total++;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.parent == null) {
+            current.remove();
+        } else {
+            current.set(this.parent);
+        }
+    }
+
+    public int getTotal() {
+        return this.total;
+    }
+
+    public int get(Kind kind) {
+        return this.counts[kind.ordinal()];
+    }
+
+    public String getEndpoint() {
+        return this.endpoint;
+    }
+
+    public int getBudget() {
+        return this.budget;
+    }
+
+    public void setBudget(String endpoint, int budget) {
+        this.endpoint = endpoint;
+        this.budget = budget;
+    }
+
+    public boolean isOverBudget() {
+        return this.budget >= 0 && this.total > this.budget;
+    }
+
+    // "select=2, update=1": only the kinds that were issued
+    @Override
+    public String toString() {
+        var text = new StringBuilder(48);
+        for (var kind : KINDS) {
+            if (this.get(kind) == 0) continue;
+            if (!text.isEmpty()) text.append(", ");
+            text.append(kind.metric()).append('=').append(this.get(kind));
+        }
+        return text.toString();
+    }
+
+    // By the first keyword; batches of plain statements have no single SQL and count as OTHER
+    static Kind kindOf(String sql) {
+        if (sql == null) return Kind.OTHER;
+        var start = 0;
+        while (start < sql.length() && (Character.isWhitespace(sql.charAt(start)) || sql.charAt(start) == '(')) start++;
+        for (int i = 0; i < Kind.OTHER.ordinal(); i++) {
+            var keyword = KINDS[i].name();
+            if (sql.regionMatches(true, start, keyword, 0, keyword.length())) return KINDS[i];
+        }
+        return Kind.OTHER;
+    }
+}
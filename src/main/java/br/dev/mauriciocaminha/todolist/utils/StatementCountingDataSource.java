@@ -0,0 +1,115 @@
+package br.dev.mauriciocaminha.todolist.utils;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * DataSource that counts every statement execution into the
+ * {@link StatementCount} open on the calling thread, and into the
+ * {@link RequestTiming} of the request when timing is on.
+ *
+ * One {@code execute*} call is one round trip: a JDBC batch counts once, which
+ * is what matters when looking for N+1 access. Connections and statements are
+ * JDK proxies; {@code unwrap} still reaches the pool underneath.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    public StatementCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection(username, password)));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private abstract static class Delegating implements InvocationHandler {
+
+        private final Object target;
+
+        Delegating(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            // Identity semantics: Hibernate keeps statements as map keys
+            switch (method.getName()) {
+                case "equals": return proxy == args[0];
+                case "hashCode": return System.identityHashCode(proxy);
+                default: break;
+            }
+            Object result;
+            try {
+                result = method.invoke(this.target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            return this.wrap(method, args, result);
+        }
+
+        abstract Object wrap(Method method, Object[] args, Object result);
+    }
+
+    private static final class ConnectionHandler extends Delegating {
+
+        ConnectionHandler(Connection target) {
+            super(target);
+        }
+
+        @Override
+        Object wrap(Method method, Object[] args, Object result) {
+            return switch (method.getName()) {
+                case "createStatement" -> proxy(Statement.class, new StatementHandler(result, null));
+                case "prepareStatement" -> proxy(PreparedStatement.class, new StatementHandler(result, (String) args[0]));
+                case "prepareCall" -> proxy(CallableStatement.class, new StatementHandler(result, (String) args[0]));
+                default -> result;
+            };
+        }
+    }
+
+    private static final class StatementHandler extends Delegating {
+
+        private final String sql;
+
+        StatementHandler(Object target, String sql) {
+            super(target);
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().startsWith("execute")) {
+                // Plain statements carry their SQL as the first argument
+                StatementCount.record(args != null && args.length > 0 && args[0] instanceof String text ? text : this.sql);
+                var timing = RequestTiming.current();
+                if (timing != null) timing.countQuery();
+            }
+            return super.invoke(proxy, method, args);
+        }
+
+        @Override
+        Object wrap(Method method, Object[] args, Object result) {
+            return result;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package br.dev.mauriciocaminha.todolist.utils;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket per key, lock-free and with bounded memory.
+ *
+ * Each bucket is a single {@link AtomicLong} holding its "theoretical arrival
+ * time" (GCRA): taking a token is one CAS, with no separate token count or
+ * refill timestamp to keep consistent. A bucket whose time is in the past is
+ * full again and carries no state, so it can be dropped at any time.
+ *
+ * Keys are spread over shards, each capped at {@code maxKeys / shards}. A shard
+ * that reaches its cap first drops its full buckets, then, if still at the cap,
+ * arbitrary ones (a forgotten key simply starts again with a full bucket).
+ */
+public final class TokenBucketLimiter {
+
+    private static final class Shard {
+        final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+        final AtomicBoolean sweeping = new AtomicBoolean();
+    }
+
+    private final Shard[] shards;
+    private final int maxKeysPerShard;
+    private final long refillNanos;
+    private final long burstNanos;
+    private final AtomicLong evictions = new AtomicLong();
+
+    // capacity tokens at most, one token added every refillPeriod
+    public TokenBucketLimiter(int capacity, Duration refillPeriod, int shards, int maxKeys) {
+        if (capacity < 1 || refillPeriod.isNegative() || refillPeriod.isZero()) {
+            throw new IllegalArgumentException("Capacity and refill period must be positive.");
+        }
+        this.shards = new Shard[Integer.highestOneBit(Math.max(1, shards))];
+        for (int i = 0; i < this.shards.length; i++) {
+            this.shards[i] = new Shard();
+        }
+        this.maxKeysPerShard = Math.max(1, maxKeys / this.shards.length);
+        this.refillNanos = refillPeriod.toNanos();
+        this.burstNanos = this.refillNanos * capacity;
+    }
+
+    // Takes a token for the key; returns 0 on success, otherwise the nanos until one is available
+    public long tryAcquire(String key, long now) {
+        var shard = this.shards[(key.hashCode() ^ (key.hashCode() >>> 16)) & (this.shards.length - 1)];
+        var bucket = shard.buckets.get(key);
+        if (bucket == null) {
+            if (shard.buckets.size() >= this.maxKeysPerShard) {
+                this.sweep(shard, now);
+            }
+            bucket = shard.buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+
+        while (true) {
+            var arrival = bucket.get();
+            var next = (arrival - now < 0 ? now : arrival) + this.refillNanos;
+            var wait = next - now - this.burstNanos;
+            if (wait > 0) return wait;
+            if (bucket.compareAndSet(arrival, next)) return 0;
+        }
+    }
+
+    public int size() {
+        var size = 0;
+        for (var shard : this.shards) {
+            size += shard.buckets.size();
+        }
+        return size;
+    }
+
+    public long getEvictions() {
+        return this.evictions.get();
+    }
+
+    // One sweeper per shard; the others just go ahead and insert
+    private void sweep(Shard shard, long now) {
+        if (!shard.sweeping.compareAndSet(false, true)) return;
+        try {
+            shard.buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+            var iterator = shard.buckets.values().iterator();
+            while (shard.buckets.size() >= this.maxKeysPerShard && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                this.evictions.incrementAndGet();
+            }
+        } finally {
+            shard.sweeping.set(false);
+        }
+    }
+}
@@ -5,13 +5,19 @@ import org.springframework.beans.BeanWrapper;
 import org.springframework.beans.BeanWrapperImpl;
 
 import java.beans.PropertyDescriptor;
+import java.time.Duration;
 import java.util.HashSet;
 import java.util.Set;
 
 public class Utils {
 
+    @SuppressWarnings("unchecked")
     public static void copyNonNullProperties(Object source, Object target) {
-        BeanUtils.copyProperties(source, target, getNullPropertyNames(source));
+        if (source.getClass() == target.getClass()) {
+            PatchApplier.of((Class<Object>) source.getClass()).apply(source, target);
+        } else {
+            BeanUtils.copyProperties(source, target, getNullPropertyNames(source));
+        }
     }
 
     public static String[] getNullPropertyNames(Object source) {
@@ -31,4 +37,9 @@ public class Utils {
         String[] result = new String[emptyNames.size()];
         return emptyNames.toArray(result);
     }
+
+    // Retry-After is whole seconds; rounding down would invite a retry that is still refused
+    public static long retryAfterSeconds(Duration retryAfter) {
+        return Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+    }
 }
@@ -0,0 +1,25 @@
+-- Schema as generated by Hibernate before priority became an enum
+CREATE TABLE IF NOT EXISTS tb_users (
+    id          UUID         NOT NULL PRIMARY KEY,
+    username    VARCHAR(255) NOT NULL UNIQUE,
+    name        VARCHAR(255) NOT NULL,
+    password    VARCHAR(255) NOT NULL,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS tb_tasks (
+    id          UUID         NOT NULL PRIMARY KEY,
+    user_id     UUID         NOT NULL,
+    title       VARCHAR(50)  NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    priority    VARCHAR(255) NOT NULL,
+    start_at    TIMESTAMP(6),
+    end_at      TIMESTAMP(6),
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6)
+);
+
+CREATE INDEX IF NOT EXISTS idx_tasks_user_created ON tb_tasks (user_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_user_priority ON tb_tasks (user_id, priority);
+CREATE INDEX IF NOT EXISTS idx_tasks_user_end_at ON tb_tasks (user_id, end_at);
@@ -0,0 +1,17 @@
+-- Free-form priority strings become TaskPriority ranks (1 = LOW, 2 = MEDIUM, 3 = HIGH).
+-- Unrecognized values fall back to MEDIUM.
+ALTER TABLE tb_tasks ADD COLUMN priority_rank SMALLINT;
+
+UPDATE tb_tasks SET priority_rank = CASE UPPER(TRIM(priority))
+    WHEN 'LOW'    THEN 1
+    WHEN 'BAIXA'  THEN 1
+    WHEN 'HIGH'   THEN 3
+    WHEN 'ALTA'   THEN 3
+    ELSE 2
+END;
+
+DROP INDEX IF EXISTS idx_tasks_user_priority;
+ALTER TABLE tb_tasks DROP COLUMN priority;
+ALTER TABLE tb_tasks RENAME COLUMN priority_rank TO priority;
+ALTER TABLE tb_tasks ALTER COLUMN priority SET NOT NULL;
+CREATE INDEX idx_tasks_user_priority ON tb_tasks (user_id, priority);
@@ -0,0 +1,10 @@
+-- Transactional outbox for task notifications (published and deleted by OutboxPoller)
+CREATE SEQUENCE IF NOT EXISTS tb_outbox_events_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS tb_outbox_events (
+    id          BIGINT       NOT NULL PRIMARY KEY,
+    user_id     UUID         NOT NULL,
+    type        VARCHAR(32)  NOT NULL,
+    task_id     UUID         NOT NULL,
+    created_at  TIMESTAMP(6)
+);
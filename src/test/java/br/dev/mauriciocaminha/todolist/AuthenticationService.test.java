@@ -1,17 +1,35 @@
+import at.favre.lib.crypto.bcrypt.BCrypt;
 import br.dev.mauriciocaminha.todolist.entities.UserModel;
+import br.dev.mauriciocaminha.todolist.repository.UserRepository;
 import br.dev.mauriciocaminha.todolist.service.AuthenticationService;
+import br.dev.mauriciocaminha.todolist.service.PasswordWorkerPool;
+import br.dev.mauriciocaminha.todolist.service.UserCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
+
+import java.time.Duration;
+import java.util.UUID;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 public class AuthenticationServiceTest {
 
     private AuthenticationService authenticationService;
+    private PasswordWorkerPool passwordWorkerPool;
+    private UserRepository userRepository;
+    private UserCache userCache;
 
     @BeforeEach
     void setUp() {
-        authenticationService = new AuthenticationService();
+        passwordWorkerPool = new PasswordWorkerPool(1, 4, Duration.ofSeconds(1), new SimpleMeterRegistry());
+        userRepository = mock(UserRepository.class);
+        userCache = mock(UserCache.class);
+        authenticationService = new AuthenticationService(passwordWorkerPool, userRepository, userCache, 5, Duration.ZERO);
     }
 
     @Test
@@ -55,4 +73,81 @@ public class AuthenticationServiceTest {
         String expectedToken = "Basic " + java.util.Base64.getEncoder().encodeToString((username + ":" + password).getBytes());
         assertEquals(expectedToken, result);
     }
-}
\ No newline at end of file
+
+    @Test
+    void hashPassword_shouldProduceVerifiableHash() {
+        // Arrange
+        UserModel user = new UserModel();
+
+        // Act
+        user.setPassword(authenticationService.hashPassword("password123"));
+
+        // Assert
+        assertTrue(authenticationService.verifyPassword(user, "password123"));
+        assertFalse(authenticationService.verifyPassword(user, "wrongpassword"));
+    }
+
+    @Test
+    void verifyPassword_shouldRehashWithHigherCost_whenStoredCostIsLower() {
+        // Arrange
+        UserModel user = new UserModel();
+        user.setId(UUID.randomUUID());
+        String storedHash = BCrypt.withDefaults().hashToString(4, "password123".toCharArray());
+        user.setPassword(storedHash);
+        when(userRepository.updatePasswordIfUnchanged(eq(user.getId()), eq(storedHash), anyString())).thenReturn(1);
+
+        // Act
+        boolean result = authenticationService.verifyPassword(user, "password123");
+
+        // Assert
+        assertTrue(result);
+        verify(userRepository, timeout(5000)).updatePasswordIfUnchanged(eq(user.getId()), eq(storedHash), argThat(hash ->
+                hash.startsWith("$2a$05$") && BCrypt.verifyer().verify("password123".toCharArray(), hash).verified));
+        verify(userCache, timeout(5000)).invalidate(user.getId());
+    }
+
+    @Test
+    void verifyPassword_shouldRehashWithLowerCost_whenStoredCostIsHigher() {
+        // Arrange
+        UserModel user = new UserModel();
+        user.setId(UUID.randomUUID());
+        String storedHash = BCrypt.withDefaults().hashToString(6, "password123".toCharArray());
+        user.setPassword(storedHash);
+
+        // Act
+        boolean result = authenticationService.verifyPassword(user, "password123");
+
+        // Assert
+        assertTrue(result);
+        verify(userRepository, timeout(5000)).updatePasswordIfUnchanged(eq(user.getId()), eq(storedHash), startsWith("$2a$05$"));
+        verify(userCache, after(200).never()).invalidate(any(UUID.class));
+    }
+
+    @Test
+    void verifyPassword_shouldNotRehash_whenCostMatchesOrPasswordIsWrong() {
+        // Arrange
+        UserModel user = new UserModel();
+        user.setId(UUID.randomUUID());
+        user.setPassword(BCrypt.withDefaults().hashToString(5, "password123".toCharArray()));
+        UserModel otherUser = new UserModel();
+        otherUser.setId(UUID.randomUUID());
+        otherUser.setPassword(BCrypt.withDefaults().hashToString(4, "password123".toCharArray()));
+
+        // Act
+        assertTrue(authenticationService.verifyPassword(user, "password123"));
+        assertFalse(authenticationService.verifyPassword(otherUser, "wrongpassword"));
+
+        // Assert
+        passwordWorkerPool.execute("verify", () -> null); // drains the single worker
+        verify(userRepository, never()).updatePasswordIfUnchanged(any(), anyString(), anyString());
+    }
+
+    @Test
+    void constructor_shouldCalibrateCostWithinBounds_whenCostIsNotConfigured() {
+        // Act
+        AuthenticationService calibrated = new AuthenticationService(passwordWorkerPool, userRepository, userCache, 0, Duration.ofMillis(1));
+
+        // Assert
+        assertEquals(10, calibrated.getCost());
+    }
+}
@@ -0,0 +1,180 @@
+import br.dev.mauriciocaminha.todolist.filters.BasicCredentials;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BasicCredentialsTest {
+
+    private static String basic(String raw) {
+        return "Basic " + Base64.getEncoder().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void parse_shouldSplitAtFirstColon_andDecodeUtf8() {
+        // Act
+        BasicCredentials credentials = BasicCredentials.parse(basic("joão:pa:ss:wörd"));
+
+        // Assert
+        assertEquals("joão", credentials.username());
+        assertEquals("pa:ss:wörd", credentials.password());
+        assertFalse(credentials.toString().contains("pa:ss"));
+    }
+
+    @Test
+    void parse_shouldAcceptEmptyPassword_missingPadding_andSchemeInAnyCase() {
+        // Arrange
+        String unpadded = Base64.getEncoder().withoutPadding().encodeToString("john:".getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        BasicCredentials credentials = BasicCredentials.parse("bAsIc   " + unpadded + "  ");
+
+        // Assert
+        assertEquals("john", credentials.username());
+        assertEquals("", credentials.password());
+    }
+
+    @Test
+    void parse_shouldReturnNull_forMalformedHeaders() {
+        String[] malformed = {
+                null,
+                "",
+                "Basic",
+                "Basic ",
+                "Bearer abc.def",
+                "Basicam9objpzZWNyZXQ=",
+                "Basic !!!!",
+                "Basic am9objpzZWNyZXQ===",
+                "Basic am9ob",
+                "Basic am9objpzZWNyZXR=",
+                basic("no-colon-here"),
+                basic(":password-only"),
+                basic("john:line\nbreak"),
+                "Basic " + Base64.getEncoder().encodeToString(new byte[]{'j', ':', (byte) 0xC3}),
+                "Basic " + Base64.getEncoder().encodeToString(new byte[]{'j', ':', (byte) 0xC0, (byte) 0xAF}),
+                "Basic " + Base64.getEncoder().encodeToString(new byte[]{'j', ':', (byte) 0xED, (byte) 0xA0, (byte) 0x80}),
+                "Basic " + "A".repeat(5000)
+        };
+
+        for (String header : malformed) {
+            assertNull(BasicCredentials.parse(header), () -> "accepted: " + header);
+        }
+    }
+
+    @Test
+    void parse_shouldRoundTripRandomCredentials() {
+        // Arrange
+        Random random = new Random(42);
+
+        for (int i = 0; i < 5_000; i++) {
+            String username = randomText(random, 1 + random.nextInt(20), false);
+            String password = randomText(random, random.nextInt(40), true);
+
+            // Act
+            BasicCredentials credentials = BasicCredentials.parse(basic(username + ":" + password));
+
+            // Assert
+            assertNotNull(credentials, username);
+            assertEquals(username, credentials.username());
+            assertEquals(password, credentials.password());
+        }
+    }
+
+    @Test
+    void parse_shouldNeverThrow_andAgreeWithReferenceDecoder_onRandomInput() {
+        // Arrange
+        Random random = new Random(7);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/= :-_.é";
+
+        for (int i = 0; i < 20_000; i++) {
+            String header;
+            if (random.nextBoolean()) {
+                byte[] raw = new byte[random.nextInt(48)];
+                random.nextBytes(raw);
+                header = "Basic " + Base64.getEncoder().encodeToString(raw);
+            } else {
+                StringBuilder text = new StringBuilder(random.nextBoolean() ? "Basic " : "");
+                int length = random.nextInt(64);
+                for (int c = 0; c < length; c++) {
+                    text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                }
+                header = text.toString();
+            }
+
+            // Act
+            BasicCredentials credentials = assertDoesNotThrow(() -> BasicCredentials.parse(header), header);
+
+            // Assert: whatever is accepted must match what the JDK decoder makes of the same header
+            if (credentials != null) {
+                byte[] decoded = Base64.getDecoder().decode(header.substring("Basic ".length()).trim());
+                String text = new String(decoded, StandardCharsets.UTF_8);
+                int colon = text.indexOf(':');
+                assertEquals(text.substring(0, colon), credentials.username(), header);
+                assertEquals(text.substring(colon + 1), credentials.password(), header);
+            }
+        }
+    }
+
+    @Test
+    void parse_shouldNotLeakPreviousPassword_intoShorterOne() {
+        // Act
+        BasicCredentials.parse(basic("john:a-rather-long-password"));
+        BasicCredentials credentials = BasicCredentials.parse(basic("mary:pw"));
+
+        // Assert
+        assertEquals("pw", credentials.password());
+    }
+
+    @Test
+    void parse_shouldZeroPooledBuffer_whenDecodingFailsPartway() {
+        // Arrange: the password decodes fine, then a character outside the alphabet
+        String encoded = Base64.getEncoder().encodeToString("john:secret-password".getBytes(StandardCharsets.UTF_8));
+        String header = "Basic " + encoded.substring(0, encoded.length() - 4) + "ab*d";
+
+        // Act
+        BasicCredentials credentials = BasicCredentials.parse(header);
+
+        // Assert
+        assertNull(credentials);
+        Object pool = ReflectionTestUtils.getField(BasicCredentials.class, "BUFFERS");
+        AtomicReferenceArray<?> slots = (AtomicReferenceArray<?>) ReflectionTestUtils.getField(pool, "slots");
+        for (int i = 0; i < slots.length(); i++) {
+            byte[] buffer = (byte[]) slots.get(i);
+            if (buffer == null) continue;
+            for (byte b : buffer) {
+                assertEquals(0, b, "pooled buffer still holds decoded bytes");
+            }
+        }
+    }
+
+    @Test
+    void parse_shouldMatchLegacyParsing_forPlainAsciiCredentials() {
+        // Arrange
+        String header = basic("john:secret");
+
+        // Act
+        BasicCredentials credentials = BasicCredentials.parse(header);
+        String[] legacy = new String(Base64.getDecoder().decode(header.substring("Basic".length()).trim())).split(":");
+
+        // Assert
+        assertArrayEquals(legacy, new String[]{credentials.username(), credentials.password()});
+    }
+
+    // Printable code points from ASCII, Latin-1, CJK and astral planes; ':' only when allowed
+    private static String randomText(Random random, int length, boolean allowColon) {
+        int[][] ranges = {{0x20, 0x7E}, {0xA0, 0xFF}, {0x4E00, 0x4FFF}, {0x1F600, 0x1F64F}};
+        StringBuilder text = new StringBuilder();
+        while (text.codePointCount(0, text.length()) < length) {
+            int[] range = ranges[random.nextInt(ranges.length)];
+            int codePoint = range[0] + random.nextInt(range[1] - range[0] + 1);
+            if (codePoint == ':' && !allowColon) continue;
+            text.appendCodePoint(codePoint);
+        }
+        return text.toString();
+    }
+}
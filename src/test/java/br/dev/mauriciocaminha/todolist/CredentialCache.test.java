@@ -0,0 +1,122 @@
+import br.dev.mauriciocaminha.todolist.service.CredentialCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CredentialCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CredentialCache credentialCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        credentialCache = new CredentialCache(Duration.ofMinutes(5), 2, meterRegistry);
+    }
+
+    @Test
+    void get_shouldReturnUserId_whenCredentialWasCached() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        credentialCache.put("john", "secret", userId, credentialCache.epoch());
+
+        // Act & Assert
+        assertEquals(userId, credentialCache.get("john", "secret"));
+        assertNull(credentialCache.get("john", "wrong"));
+        assertEquals(1.0, meterRegistry.get("auth.credential.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("auth.credential.cache.requests").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void get_shouldReturnNull_whenEntryExpired() {
+        // Arrange
+        credentialCache = new CredentialCache(Duration.ZERO, 2, meterRegistry);
+        credentialCache.put("john", "secret", UUID.randomUUID(), credentialCache.epoch());
+
+        // Act & Assert
+        assertNull(credentialCache.get("john", "secret"));
+        assertEquals(0, credentialCache.size());
+    }
+
+    @Test
+    void invalidate_shouldDropEveryEntryOfTheUser() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        UUID otherUserId = UUID.randomUUID();
+        credentialCache.put("john", "secret", userId, credentialCache.epoch());
+        credentialCache.put("mary", "secret", otherUserId, credentialCache.epoch());
+
+        // Act
+        credentialCache.invalidate(userId);
+
+        // Assert
+        assertNull(credentialCache.get("john", "secret"));
+        assertEquals(otherUserId, credentialCache.get("mary", "secret"));
+    }
+
+    @Test
+    void put_shouldBeIgnored_whenInvalidatedAfterLookupStarted() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        long epoch = credentialCache.epoch();
+        credentialCache.invalidate(userId);
+
+        // Act
+        credentialCache.put("john", "old-password", userId, epoch);
+
+        // Assert
+        assertNull(credentialCache.get("john", "old-password"));
+    }
+
+    @Test
+    void put_shouldStayBounded_whenFull() {
+        // Act
+        for (int i = 0; i < 10; i++) {
+            credentialCache.put("user" + i, "secret", UUID.randomUUID(), credentialCache.epoch());
+        }
+
+        // Assert
+        assertTrue(credentialCache.size() <= 2);
+        assertTrue(meterRegistry.get("auth.credential.cache.evictions").counter().count() > 0);
+    }
+
+    @Test
+    void put_shouldEvictTheLeastRecentlyUsed_whenFull() {
+        // Arrange
+        UUID john = UUID.randomUUID();
+        UUID mary = UUID.randomUUID();
+        credentialCache.put("john", "secret", john, credentialCache.epoch());
+        credentialCache.put("mary", "secret", mary, credentialCache.epoch());
+        credentialCache.get("john", "secret");
+
+        // Act
+        credentialCache.put("ann", "secret", UUID.randomUUID(), credentialCache.epoch());
+
+        // Assert
+        assertEquals(john, credentialCache.get("john", "secret"));
+        assertNull(credentialCache.get("mary", "secret"));
+        assertEquals(1.0, meterRegistry.get("auth.credential.cache.evictions").counter().count());
+    }
+
+    @Test
+    void invalidate_shouldDropEveryPasswordOfTheUser_andLeaveTheRest() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        credentialCache.put("john", "old", userId, credentialCache.epoch());
+        credentialCache.put("john", "new", userId, credentialCache.epoch());
+
+        // Act
+        credentialCache.invalidate(userId);
+        credentialCache.invalidate(UUID.randomUUID());
+
+        // Assert
+        assertEquals(0, credentialCache.size());
+        assertNull(credentialCache.get("john", "old"));
+        assertNull(credentialCache.get("john", "new"));
+    }
+}
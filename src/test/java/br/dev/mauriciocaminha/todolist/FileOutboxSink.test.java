@@ -0,0 +1,76 @@
+import br.dev.mauriciocaminha.todolist.entities.OutboxEventModel;
+import br.dev.mauriciocaminha.todolist.service.FileOutboxSink;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FileOutboxSinkTest {
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void replay_shouldReturnPublishedEventsInOrder_acrossRestarts() throws IOException {
+        // Arrange
+        Path path = directory.resolve("outbox.ndjson");
+        UUID userId = UUID.randomUUID();
+        OutboxEventModel first = event(1L, userId, OutboxEventModel.TASK_CREATED);
+        OutboxEventModel second = event(2L, userId, OutboxEventModel.TASK_DELETED);
+        OutboxEventModel third = event(3L, userId, OutboxEventModel.TASK_CREATED);
+
+        // Act
+        FileOutboxSink sink = new FileOutboxSink(path, objectMapper);
+        sink.publish(List.of(first, second));
+        sink.destroy();
+        sink = new FileOutboxSink(path, objectMapper);
+        sink.publish(List.of(third));
+        List<OutboxEventModel> replayed = new ArrayList<>();
+        sink.replay(replayed::add);
+        sink.destroy();
+
+        // Assert
+        assertEquals(List.of(first, second, third), replayed);
+    }
+
+    @Test
+    void replay_shouldSkipTornLine_andKeepLaterEvents() throws IOException {
+        // Arrange: a crash left half a line at the end of the log
+        Path path = directory.resolve("outbox.ndjson");
+        UUID userId = UUID.randomUUID();
+        OutboxEventModel before = event(1L, userId, OutboxEventModel.TASK_CREATED);
+        OutboxEventModel after = event(3L, userId, OutboxEventModel.TASK_DELETED);
+        FileOutboxSink sink = new FileOutboxSink(path, objectMapper);
+        sink.publish(List.of(before));
+        sink.destroy();
+        Files.writeString(path, "{\"id\":2,\"userId\":\"", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        // Act
+        sink = new FileOutboxSink(path, objectMapper);
+        sink.publish(List.of(after));
+        List<OutboxEventModel> replayed = new ArrayList<>();
+        sink.replay(replayed::add);
+        sink.destroy();
+
+        // Assert
+        assertEquals(List.of(before, after), replayed);
+    }
+
+    private static OutboxEventModel event(Long id, UUID userId, String type) {
+        OutboxEventModel event = new OutboxEventModel(userId, type, UUID.randomUUID());
+        event.setId(id);
+        return event;
+    }
+}
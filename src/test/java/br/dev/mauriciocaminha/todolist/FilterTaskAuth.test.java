@@ -0,0 +1,125 @@
+import at.favre.lib.crypto.bcrypt.BCrypt;
+import br.dev.mauriciocaminha.todolist.entities.UserModel;
+import br.dev.mauriciocaminha.todolist.filters.FilterTaskAuth;
+import br.dev.mauriciocaminha.todolist.repository.UserRepository;
+import br.dev.mauriciocaminha.todolist.service.AuthenticationService;
+import br.dev.mauriciocaminha.todolist.service.CredentialCache;
+import br.dev.mauriciocaminha.todolist.service.LoginThrottle;
+import br.dev.mauriciocaminha.todolist.service.PasswordWorkerPool;
+import br.dev.mauriciocaminha.todolist.service.TokenService;
+import br.dev.mauriciocaminha.todolist.service.UserCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class FilterTaskAuthTest {
+
+    private static final FilterChain CHAIN = (request, response) -> { };
+
+    private UserRepository userRepository;
+    private UserModel user;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        user = new UserModel();
+        user.setId(UUID.randomUUID());
+        user.setUsername("john");
+        user.setPassword(BCrypt.withDefaults().hashToString(4, "secret".toCharArray()));
+        when(userRepository.findByUsername("john")).thenReturn(user);
+    }
+
+    @Test
+    void doFilter_shouldTimeEachAuthenticationOutcome() throws Exception {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        FilterTaskAuth filter = filter(registry);
+
+        // Act
+        run(filter, basic("john", "wrong"));
+        run(filter, basic("ghost", "secret"));
+        run(filter, basic("john", "secret"));
+        run(filter, basic("john", "secret"));
+        run(filter, "Basic !!!");
+        run(filter, "Bearer not-a-token");
+
+        // Assert
+        assertEquals(1, attempts(registry, "bad_password"));
+        assertEquals(1, attempts(registry, "unknown_user"));
+        assertEquals(1, attempts(registry, "success"));
+        assertEquals(1, attempts(registry, "cached"));
+        assertEquals(1, attempts(registry, "malformed"));
+        assertEquals(1, attempts(registry, "token_invalid"));
+        assertEquals(0, attempts(registry, "throttled"));
+        assertTrue(registry.get("auth.attempts").tag("outcome", "success").timer().totalTime(TimeUnit.NANOSECONDS) > 0);
+    }
+
+    @Test
+    void doFilter_shouldRecordIntoPrometheus_onCachedCredentialPath() throws Exception {
+        // Arrange: overhead itself is measured by FilterTaskAuthBenchmark (JMH), not here
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        FilterTaskAuth filter = filter(registry);
+        String header = basic("john", "secret");
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            run(filter, header);
+        }
+
+        // Assert
+        assertEquals(1, registry.get("auth.attempts").tag("outcome", "success").timer().count());
+        assertEquals(9, registry.get("auth.attempts").tag("outcome", "cached").timer().count());
+        assertTrue(registry.scrape().contains("auth_attempts_seconds_count{outcome=\"cached\"} 9"));
+    }
+
+    private FilterTaskAuth filter(MeterRegistry registry) {
+        FilterTaskAuth filter = new FilterTaskAuth(registry);
+        SimpleMeterRegistry componentRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(filter, "userCache",
+                new UserCache(userRepository, Duration.ofMinutes(1), Duration.ofSeconds(10), 100, componentRegistry));
+        ReflectionTestUtils.setField(filter, "authenticationService", new AuthenticationService(
+                new PasswordWorkerPool(1, 16, Duration.ofSeconds(1), componentRegistry), userRepository, null, 4, Duration.ZERO));
+        ReflectionTestUtils.setField(filter, "credentialCache", new CredentialCache(Duration.ofMinutes(5), 100, componentRegistry));
+        ReflectionTestUtils.setField(filter, "tokenService", new TokenService("", Duration.ofMinutes(15)));
+        ReflectionTestUtils.setField(filter, "loginThrottle", new LoginThrottle(true, 100, Duration.ofSeconds(1),
+                100, Duration.ofSeconds(1), 1_000, componentRegistry));
+        return filter;
+    }
+
+    private static MockHttpServletResponse run(FilterTaskAuth filter, String header) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(header), response, CHAIN);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tasks/");
+        request.setServletPath("/tasks/");
+        request.addHeader("Authorization", authorization);
+        return request;
+    }
+
+    private static long attempts(SimpleMeterRegistry registry, String outcome) {
+        return registry.get("auth.attempts").tag("outcome", outcome).timer().count();
+    }
+
+    private static String basic(String username, String password) {
+        return "Basic " + Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+}
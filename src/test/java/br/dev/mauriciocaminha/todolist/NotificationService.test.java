@@ -1,20 +1,42 @@
+import br.dev.mauriciocaminha.todolist.entities.OutboxEventModel;
 import br.dev.mauriciocaminha.todolist.entities.TaskModel;
 import br.dev.mauriciocaminha.todolist.service.NotificationService;
+import br.dev.mauriciocaminha.todolist.service.NotificationService.OverflowPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 public class NotificationServiceTest {
 
     private NotificationService notificationService;
+    private SimpleMeterRegistry meterRegistry;
+    private ByteArrayOutputStream output;
 
     @BeforeEach
     void setUp() {
-        notificationService = new NotificationService();
+        meterRegistry = new SimpleMeterRegistry();
+        output = new ByteArrayOutputStream();
+        notificationService = new NotificationService(16, 8, OverflowPolicy.DROP_NEWEST, new PrintStream(output, true), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        notificationService.destroy();
     }
 
     @Test
@@ -59,4 +81,115 @@ public class NotificationServiceTest {
         // Since the method prints to stdout, we can verify the output indirectly if needed
         // For this example, we will just ensure no exceptions are thrown
     }
-}
\ No newline at end of file
+
+    @Test
+    void destroy_shouldWriteEveryQueuedNotification() throws InterruptedException {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        UUID taskId = UUID.randomUUID();
+        TaskModel task = new TaskModel();
+        task.setId(taskId);
+
+        // Act
+        notificationService.notifyTaskCreated(userId, task);
+        notificationService.notifyTaskDeleted(userId, taskId);
+        notificationService.sendMessage(userId, "hello");
+        notificationService.destroy();
+
+        // Assert
+        String text = output.toString();
+        assertTrue(text.contains("[Notification] User: " + userId + " created task: " + taskId));
+        assertTrue(text.contains("[Notification] User: " + userId + " deleted task: " + taskId));
+        assertTrue(text.contains("[Notification] User: " + userId + " message: hello"));
+        assertEquals(3, meterRegistry.get("notifications.dispatch.latency").timer().count());
+    }
+
+    @Test
+    void publish_shouldDropWithoutBlocking_whenQueueIsFull() throws InterruptedException {
+        // Arrange: dispatcher stuck writing the first event, queue of one
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        OutputStream blocking = new OutputStream() {
+            @Override
+            public void write(int b) {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ignored) { }
+            }
+        };
+        notificationService.destroy();
+        meterRegistry = new SimpleMeterRegistry();
+        notificationService = new NotificationService(1, 8, OverflowPolicy.DROP_NEWEST, new PrintStream(blocking), meterRegistry);
+        UUID userId = UUID.randomUUID();
+        notificationService.sendMessage(userId, "first");
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        // Act
+        notificationService.sendMessage(userId, "queued");
+        notificationService.sendMessage(userId, "dropped");
+        notificationService.notifyTaskDeleted(userId, UUID.randomUUID());
+
+        // Assert
+        assertEquals(1, notificationService.getQueueDepth());
+        assertEquals(1.0, meterRegistry.get("notifications.dropped").tag("type", "message").counter().count());
+        assertEquals(1.0, meterRegistry.get("notifications.dropped").tag("type", "task_deleted").counter().count());
+        assertEquals(1.0, meterRegistry.get("notifications.queue.depth").gauge().value());
+
+        release.countDown();
+    }
+
+    @Test
+    void publish_shouldEvictOldest_whenPolicyIsDropOldest() throws InterruptedException {
+        // Arrange
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        OutputStream blocking = new OutputStream() {
+            @Override
+            public void write(int b) {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ignored) { }
+                written.write(b);
+            }
+        };
+        notificationService.destroy();
+        meterRegistry = new SimpleMeterRegistry();
+        notificationService = new NotificationService(1, 8, OverflowPolicy.DROP_OLDEST, new PrintStream(blocking), meterRegistry);
+        UUID userId = UUID.randomUUID();
+        notificationService.sendMessage(userId, "first");
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        // Act
+        notificationService.sendMessage(userId, "old");
+        notificationService.sendMessage(userId, "new");
+        release.countDown();
+        notificationService.destroy();
+
+        // Assert
+        assertTrue(written.toString().contains("message: new"));
+        assertFalse(written.toString().contains("message: old"));
+        assertEquals(1.0, meterRegistry.get("notifications.dropped").tag("type", "message").counter().count());
+    }
+
+    @Test
+    void deliver_shouldCompleteOnceWritten_andFailAfterShutdown() throws Exception {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        UUID taskId = UUID.randomUUID();
+        List<OutboxEventModel> events = List.of(new OutboxEventModel(userId, OutboxEventModel.TASK_CREATED, taskId));
+
+        // Act
+        notificationService.deliver(events).get(5, TimeUnit.SECONDS);
+        String written = output.toString();
+        notificationService.destroy();
+
+        // Assert
+        assertTrue(written.contains("[Notification] User: " + userId + " created task: " + taskId));
+        ExecutionException failure = assertThrows(ExecutionException.class,
+                () -> notificationService.deliver(events).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, failure.getCause());
+    }
+}
@@ -0,0 +1,160 @@
+import br.dev.mauriciocaminha.todolist.entities.OutboxEventModel;
+import br.dev.mauriciocaminha.todolist.repository.OutboxEventRepository;
+import br.dev.mauriciocaminha.todolist.service.ConsoleOutboxSink;
+import br.dev.mauriciocaminha.todolist.service.NotificationService;
+import br.dev.mauriciocaminha.todolist.service.OutboxPoller;
+import br.dev.mauriciocaminha.todolist.service.OutboxSink;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class OutboxPollerTest {
+
+    private OutboxEventRepository outboxEventRepository;
+    private OutboxSink sink;
+    private PlatformTransactionManager transactionManager;
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxPoller outboxPoller;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository = mock(OutboxEventRepository.class);
+        sink = mock(OutboxSink.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        meterRegistry = new SimpleMeterRegistry();
+        outboxPoller = new OutboxPoller(outboxEventRepository, sink, transactionManager, 2, Duration.ZERO, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxPoller.destroy();
+    }
+
+    @Test
+    void publishPending_shouldPublishThenDelete_inOneTransaction() throws IOException {
+        // Arrange
+        List<OutboxEventModel> events = List.of(
+                new OutboxEventModel(UUID.randomUUID(), OutboxEventModel.TASK_CREATED, UUID.randomUUID()),
+                new OutboxEventModel(UUID.randomUUID(), OutboxEventModel.TASK_DELETED, UUID.randomUUID()));
+        when(outboxEventRepository.findAllByOrderByIdAsc(any(Pageable.class))).thenReturn(events);
+
+        // Act
+        int count = outboxPoller.publishPending();
+
+        // Assert
+        assertEquals(2, count);
+        InOrder order = inOrder(sink, outboxEventRepository, transactionManager);
+        order.verify(sink).publish(events);
+        order.verify(outboxEventRepository).deleteAllInBatch(events);
+        order.verify(transactionManager).commit(any());
+        assertEquals(2.0, meterRegistry.get("outbox.published").counter().count());
+    }
+
+    @Test
+    void publishPending_shouldKeepEvents_whenSinkFails() throws IOException {
+        // Arrange
+        List<OutboxEventModel> events = List.of(new OutboxEventModel(UUID.randomUUID(), OutboxEventModel.TASK_CREATED, UUID.randomUUID()));
+        when(outboxEventRepository.findAllByOrderByIdAsc(any(Pageable.class))).thenReturn(events);
+        doThrow(new IOException("disk full")).when(sink).publish(events);
+
+        // Act & Assert
+        assertThrows(UncheckedIOException.class, () -> outboxPoller.publishPending());
+        verify(outboxEventRepository, never()).deleteAllInBatch(any());
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+    }
+
+    @Test
+    void publishPending_shouldDoNothing_whenOutboxIsEmpty() throws IOException {
+        // Arrange
+        when(outboxEventRepository.findAllByOrderByIdAsc(any(Pageable.class))).thenReturn(List.of());
+
+        // Act
+        int count = outboxPoller.publishPending();
+
+        // Assert
+        assertEquals(0, count);
+        verify(sink, never()).publish(any());
+    }
+
+    @Test
+    void publishPending_withConsoleSink_shouldDeliverEveryEventBeforeDeletingIt_whenBatchOverflowsNotificationQueue() throws Exception {
+        // Arrange: a batch far larger than the queue, which would drop under DROP_NEWEST
+        ByteArrayOutputStream console = new ByteArrayOutputStream();
+        NotificationService notifications = new NotificationService(4, 2, NotificationService.OverflowPolicy.DROP_NEWEST,
+                new PrintStream(console), new SimpleMeterRegistry());
+        List<OutboxEventModel> events = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            events.add(new OutboxEventModel(UUID.randomUUID(), OutboxEventModel.TASK_CREATED, UUID.randomUUID()));
+        }
+        when(outboxEventRepository.findAllByOrderByIdAsc(any(Pageable.class))).thenReturn(events);
+        List<String> missingAtDelete = new ArrayList<>();
+        doAnswer(invocation -> {
+            String delivered = console.toString();
+            for (OutboxEventModel event : events) {
+                if (!delivered.contains(event.getTaskId().toString())) missingAtDelete.add(event.getTaskId().toString());
+            }
+            return null;
+        }).when(outboxEventRepository).deleteAllInBatch(any());
+        OutboxPoller poller = new OutboxPoller(outboxEventRepository, new ConsoleOutboxSink(notifications),
+                transactionManager, 50, Duration.ZERO, meterRegistry);
+
+        // Act
+        int count;
+        try {
+            count = poller.publishPending();
+        } finally {
+            poller.destroy();
+            notifications.destroy();
+        }
+
+        // Assert
+        assertEquals(50, count);
+        verify(outboxEventRepository).deleteAllInBatch(events);
+        assertEquals(List.of(), missingAtDelete);
+    }
+
+    @Test
+    void publishPending_withConsoleSink_shouldKeepEvents_whenTheConsoleFails() throws Exception {
+        // Arrange
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("closed");
+            }
+        };
+        List<OutboxEventModel> events = List.of(new OutboxEventModel(UUID.randomUUID(), OutboxEventModel.TASK_DELETED, UUID.randomUUID()));
+        when(outboxEventRepository.findAllByOrderByIdAsc(any(Pageable.class))).thenReturn(events);
+        NotificationService notifications = new NotificationService(16, 8, NotificationService.OverflowPolicy.DROP_NEWEST,
+                new PrintStream(broken), new SimpleMeterRegistry());
+        OutboxPoller poller = new OutboxPoller(outboxEventRepository, new ConsoleOutboxSink(notifications),
+                transactionManager, 2, Duration.ZERO, meterRegistry);
+
+        // Act & Assert
+        try {
+            assertThrows(UncheckedIOException.class, poller::publishPending);
+        } finally {
+            poller.destroy();
+            notifications.destroy();
+        }
+        verify(outboxEventRepository, never()).deleteAllInBatch(any());
+    }
+}
@@ -0,0 +1,85 @@
+import br.dev.mauriciocaminha.todolist.errors.ServiceOverloadedException;
+import br.dev.mauriciocaminha.todolist.service.PasswordWorkerPool;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasswordWorkerPoolTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordWorkerPool passwordWorkerPool;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        passwordWorkerPool = new PasswordWorkerPool(1, 1, Duration.ofSeconds(2), meterRegistry);
+        callers = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        passwordWorkerPool.destroy();
+    }
+
+    @Test
+    void execute_shouldReturnResultAndRecordTimers() {
+        // Act
+        String result = passwordWorkerPool.execute("verify", () -> "ok");
+
+        // Assert
+        assertEquals("ok", result);
+        assertEquals(1, meterRegistry.get("auth.crypto.wait").tag("operation", "verify").timer().count());
+        assertEquals(1, meterRegistry.get("auth.crypto.duration").tag("operation", "verify").timer().count());
+    }
+
+    @Test
+    void execute_shouldFailFast_whenQueueIsFull() throws Exception {
+        // Arrange: one task running, one queued
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        callers.submit(() -> passwordWorkerPool.execute("hash", () -> {
+            running.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ignored) { }
+            return null;
+        }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        callers.submit(() -> passwordWorkerPool.execute("hash", () -> null));
+        while (passwordWorkerPool.getQueueDepth() == 0) Thread.onSpinWait();
+
+        // Act & Assert
+        ServiceOverloadedException exception = assertThrows(ServiceOverloadedException.class,
+                () -> passwordWorkerPool.execute("hash", () -> null));
+        assertEquals(Duration.ofSeconds(2), exception.getRetryAfter());
+        assertEquals(1.0, meterRegistry.get("auth.crypto.rejected").counter().count());
+        assertEquals(1.0, meterRegistry.get("auth.crypto.queue.depth").gauge().value());
+
+        release.countDown();
+    }
+
+    @Test
+    void retryAfterSeconds_shouldRoundUp_toAtLeastOneSecond() {
+        // A sub-second wait must not become "Retry-After: 0", an immediate retry into the same full pool
+        assertEquals(1, new ServiceOverloadedException("busy", Duration.ofMillis(500)).getRetryAfterSeconds());
+        assertEquals(1, new ServiceOverloadedException("busy", Duration.ZERO).getRetryAfterSeconds());
+        assertEquals(2, new ServiceOverloadedException("busy", Duration.ofMillis(1001)).getRetryAfterSeconds());
+    }
+
+    @Test
+    void execute_shouldPropagateRuntimeExceptions() {
+        assertThrows(IllegalArgumentException.class,
+                () -> passwordWorkerPool.execute("verify", () -> { throw new IllegalArgumentException("bad hash"); }));
+    }
+}
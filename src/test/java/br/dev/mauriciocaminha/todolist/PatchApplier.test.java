@@ -0,0 +1,65 @@
+import br.dev.mauriciocaminha.todolist.entities.TaskModel;
+import br.dev.mauriciocaminha.todolist.entities.TaskPriority;
+import br.dev.mauriciocaminha.todolist.entities.UserModel;
+import br.dev.mauriciocaminha.todolist.utils.PatchApplier;
+import br.dev.mauriciocaminha.todolist.utils.Utils;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeanUtils;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PatchApplierTest {
+
+    @Test
+    void apply_shouldCopyOnlyNonNullProperties() throws Exception {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        TaskModel target = new TaskModel();
+        target.setUserId(userId);
+        target.setTitle("old title");
+        target.setDescription("old description");
+        target.setPriority(TaskPriority.LOW);
+
+        TaskModel patch = new TaskModel();
+        patch.setTitle("new title");
+        patch.setPriority(TaskPriority.HIGH);
+
+        // Act
+        PatchApplier.of(TaskModel.class).apply(patch, target);
+
+        // Assert
+        assertEquals("new title", target.getTitle());
+        assertEquals(TaskPriority.HIGH, target.getPriority());
+        assertEquals("old description", target.getDescription());
+        assertEquals(userId, target.getUserId());
+    }
+
+    @Test
+    void apply_shouldMatchBeanUtilsSemantics() {
+        // Arrange
+        UserModel patch = new UserModel();
+        patch.setName("John");
+        patch.setPassword("hash");
+        patch.setUpdatedAt(LocalDateTime.now());
+
+        UserModel expected = new UserModel();
+        expected.setUsername("john");
+        UserModel actual = new UserModel();
+        actual.setUsername("john");
+
+        // Act
+        BeanUtils.copyProperties(patch, expected, Utils.getNullPropertyNames(patch));
+        PatchApplier.of(UserModel.class).apply(patch, actual);
+
+        // Assert
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void of_shouldReturnCachedInstancePerClass() {
+        assertSame(PatchApplier.of(TaskModel.class), PatchApplier.of(TaskModel.class));
+    }
+}
@@ -0,0 +1,115 @@
+import br.dev.mauriciocaminha.todolist.filters.ServerTimingFilter;
+import br.dev.mauriciocaminha.todolist.utils.RequestTiming;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ServerTimingFilterTest {
+
+    private static final long MS = 1_000_000;
+
+    @Test
+    void finish_shouldExcludeHandlerQueries_fromServiceTime_andTimeTheBodyWrite() {
+        // Arrange
+        RequestTiming timing = new RequestTiming(0);
+        timing.add(RequestTiming.Phase.PARSE, MS / 10);
+        timing.add(RequestTiming.Phase.USER, 2 * MS);
+        timing.add(RequestTiming.Phase.DB, MS);         // user lookup, before the handler
+        timing.handlerStarted(10 * MS);
+        timing.add(RequestTiming.Phase.DB, 4 * MS);     // repository calls of the handler
+        timing.countQuery();
+        timing.countQuery();
+        timing.bodyStarted(20 * MS);
+        timing.bodyStarted(25 * MS);                    // an error page body must not move the mark
+
+        // Act
+        timing.finish(23 * MS);
+
+        // Assert
+        assertEquals(6 * MS, timing.nanos(RequestTiming.Phase.SERVICE));
+        assertEquals(3 * MS, timing.nanos(RequestTiming.Phase.JSON));
+        assertFalse(timing.has(RequestTiming.Phase.BCRYPT));
+        assertEquals("parse;dur=0.100, user;dur=2.000, service;dur=6.000, db;dur=5.000;desc=\"2 queries\", "
+                + "json;dur=3.000, total;dur=23.000", timing.toHeader());
+    }
+
+    @Test
+    void doFilter_shouldAddServerTimingHeader_andKeepTheBody() throws Exception {
+        // Arrange
+        ServerTimingFilter filter = new ServerTimingFilter(new ObjectMapper(), true, Duration.ZERO);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tasks/");
+        request.setServletPath("/tasks/");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            RequestTiming timing = RequestTiming.of(req);
+            timing.add(RequestTiming.Phase.PARSE, MS);
+            timing.handlerStarted(System.nanoTime());
+            timing.bodyStarted(System.nanoTime());
+            res.getOutputStream().write("[]".getBytes(StandardCharsets.UTF_8));
+        };
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        String header = response.getHeader("Server-Timing");
+        assertNotNull(header);
+        assertTrue(header.startsWith("parse;dur=1.000, service;dur="), header);
+        assertTrue(header.contains(", json;dur=") && header.contains(", total;dur="), header);
+        assertEquals("[]", response.getContentAsString());
+    }
+
+    @Test
+    void doFilter_shouldNotBufferStreamedResponses() throws Exception {
+        // Arrange
+        ServerTimingFilter filter = new ServerTimingFilter(new ObjectMapper(), true, Duration.ofHours(1));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tasks/");
+        request.setServletPath("/tasks/");
+        request.addHeader("Accept", "application/x-ndjson");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            res.setContentType("application/x-ndjson");
+            res.getOutputStream().write("{}\n".getBytes(StandardCharsets.UTF_8));
+            res.flushBuffer();
+        };
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertTrue(response.isCommitted());
+        assertNull(response.getHeader("Server-Timing"));
+        assertEquals("{}\n", response.getContentAsString());
+    }
+
+    @Test
+    void doFilter_shouldDetectStreamsFromTheResponseContentType_withoutAcceptHeader() throws Exception {
+        // Arrange
+        ServerTimingFilter filter = new ServerTimingFilter(new ObjectMapper(), true, Duration.ofHours(1));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tasks/export");
+        request.setServletPath("/tasks/export");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            res.setContentType("application/x-ndjson");
+            res.getOutputStream().write("{}\n".getBytes(StandardCharsets.UTF_8));
+            res.flushBuffer();
+            // the client has the first line before the handler returns
+            assertEquals("{}\n", response.getContentAsString());
+        };
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertTrue(response.isCommitted());
+        assertNull(response.getHeader("Server-Timing"));
+        assertEquals("{}\n", response.getContentAsString());
+    }
+}
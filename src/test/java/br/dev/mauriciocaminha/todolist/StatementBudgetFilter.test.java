@@ -0,0 +1,321 @@
+import br.dev.mauriciocaminha.todolist.TodolistApplication;
+import br.dev.mauriciocaminha.todolist.filters.StatementBudgetFilter;
+import br.dev.mauriciocaminha.todolist.repository.TaskRepository;
+import br.dev.mauriciocaminha.todolist.service.TaskService;
+import br.dev.mauriciocaminha.todolist.utils.StatementCount;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static br.dev.mauriciocaminha.todolist.utils.StatementCount.Kind.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+// Exact statement counts per endpoint, in any test order. Requests use a Bearer token, so auth itself issues none
+@SpringBootTest(classes = TodolistApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:statements;DB_CLOSE_DELAY=-1",
+        "todolist.auth.bcrypt.cost=4",
+        "todolist.auth.throttle.enabled=false",
+        "todolist.db.statement-budget.sample-rate=1.0"})
+@AutoConfigureMockMvc
+@Import(StatementBudgetFilterTest.RepositoryTransactions.class)
+@TestMethodOrder(MethodOrderer.Random.class)
+public class StatementBudgetFilterTest {
+
+    private static final String TASK = "{\"title\":\"title\",\"description\":\"description\",\"priority\":\"LOW\","
+            + "\"startAt\":\"2999-01-01T10:00:00\",\"endAt\":\"2999-01-02T10:00:00\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Records the transaction each TaskRepository call arrives in, before the repository opens its own
+    @TestConfiguration(proxyBeanMethods = false)
+    static class RepositoryTransactions {
+
+        static final List<String> CALLS = new CopyOnWriteArrayList<>();
+
+        @Bean
+        static BeanPostProcessor recordRepositoryTransactions() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof TaskRepository)) return bean;
+                    var proxy = new ProxyFactory(bean);
+                    proxy.addAdvice((MethodInterceptor) invocation -> {
+                        CALLS.add(invocation.getMethod().getName() + " in "
+                                + (TransactionSynchronizationManager.isActualTransactionActive()
+                                        ? TransactionSynchronizationManager.getCurrentTransactionName() : "none"));
+                        return invocation.proceed();
+                    });
+                    return proxy.getProxy();
+                }
+            };
+        }
+    }
+
+    private String bearer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String username = "user-" + UUID.randomUUID();
+        mockMvc.perform(json(post("/users/"), user(username)));
+        MvcResult login = mockMvc.perform(json(post("/users/login"), user(username))).andReturn();
+        bearer = "Bearer " + objectMapper.readTree(login.getResponse().getContentAsString()).get("token").asText();
+        // The pooled outbox sequence needs two fetches the first time; afterwards at most one per 50 ids
+        createTask();
+    }
+
+    @Test
+    void signup_shouldLookUpTheNameOnce_andInsertTheUser() throws Exception {
+        // Act
+        StatementCount count = statements(json(post("/users/"), user("user-" + UUID.randomUUID())));
+
+        // Assert
+        assertEquals(1, count.get(SELECT));
+        assertEquals(1, count.get(INSERT));
+        assertEquals(2, count.getTotal());
+    }
+
+    @Test
+    void login_shouldIssueOneSelect() throws Exception {
+        // Arrange: signup drops the cached "no such user", so the login reads it
+        String username = "user-" + UUID.randomUUID();
+        mockMvc.perform(json(post("/users/"), user(username)));
+
+        // Act
+        StatementCount count = statements(json(post("/users/login"), user(username)));
+
+        // Assert
+        assertEquals(1, count.getTotal());
+        assertEquals(1, count.get(SELECT));
+    }
+
+    @Test
+    void createTask_shouldInsertTheTaskAndItsOutboxEvent_withoutSelectingTheTask() throws Exception {
+        // Act
+        StatementCount count = statements(auth(json(post("/tasks/"), TASK)));
+
+        // Assert: the only select allowed is the outbox id fetch, once per 50 events
+        assertEquals(2, count.get(INSERT));
+        assertTrue(count.get(SELECT) <= 1, count.toString());
+        assertEquals(count.get(INSERT) + count.get(SELECT), count.getTotal());
+    }
+
+    @Test
+    void createBatch_shouldInsertInOneJdbcBatchPerTable() throws Exception {
+        // Act
+        StatementCount count = statements(auth(json(post("/tasks/batch"), "[" + TASK + "," + TASK + "," + TASK + "]")));
+
+        // Assert
+        assertEquals(2, count.get(INSERT));
+        assertTrue(count.get(SELECT) <= 1, count.toString());
+        assertEquals(count.get(INSERT) + count.get(SELECT), count.getTotal());
+    }
+
+    @Test
+    void listAll_shouldSelectOnce_andThenServeFromCache() throws Exception {
+        // Arrange
+        createTask();
+        createTask();
+
+        // Act
+        StatementCount first = statements(auth(get("/tasks/")));
+        StatementCount second = statements(auth(get("/tasks/")));
+        StatementCount byPriority = statements(auth(get("/tasks/priority/LOW")));
+
+        // Assert
+        assertEquals(1, first.getTotal());
+        assertEquals(1, first.get(SELECT));
+        assertEquals(0, second.getTotal());
+        assertEquals(0, byPriority.getTotal());
+    }
+
+    @Test
+    void listByPriority_shouldLoadTheListOnce() throws Exception {
+        // Arrange
+        createTask();
+
+        // Act
+        StatementCount count = statements(auth(get("/tasks/priority/HIGH")));
+
+        // Assert
+        assertEquals(1, count.getTotal());
+        assertEquals(1, count.get(SELECT));
+    }
+
+    @Test
+    void listPage_shouldSelectOnce() throws Exception {
+        // Arrange
+        createTask();
+        createTask();
+        createTask();
+
+        // Act
+        StatementCount count = statements(auth(get("/tasks/?limit=2")));
+
+        // Assert
+        assertEquals(1, count.getTotal());
+        assertEquals(1, count.get(SELECT));
+    }
+
+    @Test
+    void updateTask_shouldUpdateInPlace_andReadTheTaskBackOnce() throws Exception {
+        // Arrange
+        String id = createTask();
+
+        // Act
+        StatementCount count = statements(auth(json(put("/tasks/" + id), "{\"title\":\"new title\"}")));
+
+        // Assert: no select-then-merge, just the conditional update and the read for the response
+        assertEquals(1, count.get(UPDATE));
+        assertEquals(1, count.get(SELECT));
+        assertEquals(2, count.getTotal());
+    }
+
+    @Test
+    void updateUnknownTask_shouldCheckExistenceOnlyAfterTheUpdateMissed() throws Exception {
+        // Act
+        StatementCount count = statements(auth(json(put("/tasks/" + UUID.randomUUID()), "{\"title\":\"new title\"}")));
+
+        // Assert
+        assertEquals(1, count.get(UPDATE));
+        assertEquals(1, count.get(SELECT));
+        assertEquals(2, count.getTotal());
+    }
+
+    @Test
+    void markAsCompleted_shouldUpdateInPlace_andReadTheTaskBackOnce() throws Exception {
+        // Arrange
+        String id = createTask();
+
+        // Act
+        StatementCount count = statements(auth(patch("/tasks/" + id + "/complete")));
+
+        // Assert
+        assertEquals(1, count.get(UPDATE));
+        assertEquals(1, count.get(SELECT));
+        assertEquals(2, count.getTotal());
+    }
+
+    @Test
+    void conditionalWrites_shouldReadTheRowBackInTheTransactionOfTheUpdate() throws Exception {
+        // Arrange
+        String id = createTask();
+        RepositoryTransactions.CALLS.clear();
+
+        // Act
+        mockMvc.perform(auth(json(put("/tasks/" + id), "{\"title\":\"new title\"}")));
+        mockMvc.perform(auth(patch("/tasks/" + id + "/complete")));
+
+        // Assert: the UPDATE still holds the row lock when the response is read
+        String update = " in " + TaskService.class.getName() + ".updateTask";
+        String complete = " in " + TaskService.class.getName() + ".markAsCompleted";
+        assertEquals(List.of("updateByIdAndUserId" + update, "findById" + update,
+                "completeByIdAndUserId" + complete, "findById" + complete), RepositoryTransactions.CALLS);
+    }
+
+    @Test
+    void deleteTask_shouldDeleteByKey_andRecordTheOutboxEvent() throws Exception {
+        // Arrange
+        String id = createTask();
+
+        // Act
+        StatementCount count = statements(auth(delete("/tasks/" + id)));
+
+        // Assert: no select of the task before deleting it
+        assertEquals(1, count.get(DELETE));
+        assertEquals(1, count.get(INSERT));
+        assertTrue(count.get(SELECT) <= 1, count.toString());
+        assertEquals(2 + count.get(SELECT), count.getTotal());
+    }
+
+    @Test
+    void doFilter_shouldReportRequestsOverBudget() throws Exception {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        StatementBudgetFilter filter = new StatementBudgetFilter(new ObjectMapper(), registry, 1.0);
+        FilterChain chain = (request, response) -> {
+            StatementCount.of(request).setBudget("GET /tasks/", 1);
+            StatementCount.record("select * from tb_tasks where id = ?");
+            StatementCount.record("select * from tb_tasks where id = ?");
+        };
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/tasks/"), new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertEquals(1, registry.get("db.statements.over.budget").tag("endpoint", "GET /tasks/").counter().count());
+        assertEquals(2, registry.get("db.statements").tag("endpoint", "GET /tasks/").summary().totalAmount());
+    }
+
+    @Test
+    void doFilter_shouldNotCount_whenSamplingIsOff() throws Exception {
+        // Arrange
+        StatementBudgetFilter filter = new StatementBudgetFilter(new ObjectMapper(), new SimpleMeterRegistry(), 0);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tasks/");
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> StatementCount.record("select 1"));
+
+        // Assert
+        assertNull(StatementCount.of(request));
+    }
+
+    // Every counted request must also stay within its endpoint's budget
+    private StatementCount statements(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        StatementCount count = StatementCount.of(result.getRequest());
+        assertNotNull(count.getEndpoint(), "request did not reach a handler: " + result.getResponse().getStatus());
+        assertFalse(count.isOverBudget(), count.getEndpoint() + " issued " + count.getTotal()
+                + " statements (" + count + "), budget " + count.getBudget());
+        return count;
+    }
+
+    private String createTask() throws Exception {
+        MvcResult created = mockMvc.perform(auth(json(post("/tasks/"), TASK))).andReturn();
+        return objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asText();
+    }
+
+    // The auth filter looks at the servlet path, which MockMvc leaves empty
+    private MockHttpServletRequestBuilder auth(MockHttpServletRequestBuilder request) {
+        return request.header("Authorization", bearer).with(mock -> {
+            mock.setServletPath(mock.getRequestURI());
+            return mock;
+        });
+    }
+
+    private static String user(String username) {
+        return "{\"name\":\"Name\",\"username\":\"" + username + "\",\"password\":\"secret\"}";
+    }
+
+    private static MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder request, String body) {
+        return request.contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+}
@@ -0,0 +1,135 @@
+import br.dev.mauriciocaminha.todolist.controller.TaskController;
+import br.dev.mauriciocaminha.todolist.entities.TaskModel;
+import br.dev.mauriciocaminha.todolist.service.TaskBatchResult;
+import br.dev.mauriciocaminha.todolist.service.TaskService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class TaskControllerTest {
+
+    private static final String TASK = "{\"title\":\"title\",\"description\":\"description\",\"priority\":\"LOW\","
+            + "\"startAt\":\"2999-01-01T10:00:00\",\"endAt\":\"2999-01-02T10:00:00\"}";
+
+    private TaskController taskController;
+    private TaskService taskService;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        taskService = mock(TaskService.class);
+        when(taskService.getMaxBatchSize()).thenReturn(2);
+        when(taskService.createBatch(any(), any())).thenAnswer(invocation -> {
+            List<TaskModel> tasks = invocation.getArgument(0);
+            return tasks.stream().map(task -> TaskBatchResult.created(tasks.indexOf(task), task)).toList();
+        });
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        taskController = new TaskController();
+        ReflectionTestUtils.setField(taskController, "taskService", taskService);
+        ReflectionTestUtils.setField(taskController, "objectMapper", objectMapper);
+    }
+
+    @Test
+    void createBatchNdjson_shouldStopReading_asSoonAsTheBatchIsTooLarge() throws Exception {
+        // Arrange: a reader that would fail if it were drained past the third task
+        MockHttpServletRequest request = spy(new MockHttpServletRequest("POST", "/tasks/batch"));
+        String lines = TASK + "\n" + TASK + "\n" + TASK + "\n";
+        BufferedReader reader = new BufferedReader(new StringReader(lines + "this line is never read\n".repeat(1000))) {
+            private int read;
+
+            @Override
+            public String readLine() throws java.io.IOException {
+                assertTrue(++read <= 3, "read past the limit");
+                return super.readLine();
+            }
+        };
+        doReturn(reader).when(request).getReader();
+
+        // Act
+        ResponseEntity<Object> response = taskController.createBatchNdjson(request);
+
+        // Assert
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, response.getStatusCode());
+        verify(taskService, never()).createBatch(any(), any());
+    }
+
+    @Test
+    void createBatchNdjson_shouldCreate_whenWithinTheLimit() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/tasks/batch");
+        request.setContent((TASK + "\n\n" + TASK + "\n").getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        ResponseEntity<Object> response = taskController.createBatchNdjson(request);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(taskService).createBatch(argThat(tasks -> tasks.size() == 2), any());
+    }
+
+    @Test
+    void createBatch_shouldStopParsing_asSoonAsTheArrayIsTooLarge() throws Exception {
+        // Arrange: everything after the third task is not even valid JSON
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/tasks/batch");
+        request.setContent(("[" + TASK + "," + TASK + "," + TASK + "," + "never parsed ".repeat(1000) + "]")
+                .getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        ResponseEntity<Object> response = taskController.createBatch(request);
+
+        // Assert
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, response.getStatusCode());
+        verify(taskService, never()).createBatch(any(), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void createBatch_shouldMapEachArrayItem_andReportTheOnesThatDoNotParse() throws Exception {
+        // Arrange
+        ArgumentCaptor<List<TaskModel>> tasks = ArgumentCaptor.forClass(List.class);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/tasks/batch");
+        request.setContent(("[{\"priority\":\"urgent\"}," + TASK + "]").getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        ResponseEntity<Object> response = taskController.createBatch(request);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(taskService).createBatch(tasks.capture(), any());
+        assertEquals(1, tasks.getValue().size());
+        assertEquals("title", tasks.getValue().get(0).getTitle());
+        List<TaskBatchResult> results = (List<TaskBatchResult>) response.getBody();
+        assertEquals(400, results.get(0).status());
+        assertEquals(201, results.get(1).status());
+        assertEquals(1, results.get(1).index());
+    }
+
+    @Test
+    void createBatch_shouldReturn400_whenTheBodyIsNotAnArray() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/tasks/batch");
+        request.setContent(TASK.getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        ResponseEntity<Object> response = taskController.createBatch(request);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(taskService, never()).createBatch(any(), any());
+    }
+}
@@ -0,0 +1,183 @@
+import br.dev.mauriciocaminha.todolist.service.TaskEventHub;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+public class TaskEventHubTest {
+
+    // Captures what would be written to the connection; can be made to block like a slow client
+    static class RecordingEmitter extends SseEmitter {
+        final List<String> frames = new CopyOnWriteArrayList<>();
+        final CountDownLatch release;
+        final CountDownLatch writing = new CountDownLatch(1);
+        volatile boolean completed;
+
+        RecordingEmitter(boolean blocked) {
+            this.release = new CountDownLatch(blocked ? 1 : 0);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            frames.add(builder.build().stream().map(part -> part.getData().toString()).collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+
+    @RestController
+    static class EventsController {
+        final TaskEventHub taskEventHub;
+        final UUID userId = UUID.randomUUID();
+
+        EventsController(TaskEventHub taskEventHub) {
+            this.taskEventHub = taskEventHub;
+        }
+
+        @GetMapping("/events")
+        SseEmitter events() {
+            return taskEventHub.subscribe(userId);
+        }
+    }
+
+    private SimpleMeterRegistry meterRegistry;
+    private TaskEventHub taskEventHub;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        taskEventHub = new TaskEventHub(new ObjectMapper().findAndRegisterModules(), 2, Duration.ofMinutes(1), Duration.ZERO, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskEventHub.destroy();
+    }
+
+    @Test
+    void publish_shouldReachOnlyTheOwnersSubscribers() throws InterruptedException {
+        // Arrange
+        UUID owner = UUID.randomUUID();
+        UUID taskId = UUID.randomUUID();
+        RecordingEmitter first = new RecordingEmitter(false);
+        RecordingEmitter second = new RecordingEmitter(false);
+        RecordingEmitter other = new RecordingEmitter(false);
+        taskEventHub.subscribe(owner, first);
+        taskEventHub.subscribe(owner, second);
+        taskEventHub.subscribe(UUID.randomUUID(), other);
+
+        // Act
+        taskEventHub.publish(owner, TaskEventHub.DELETED, taskId, null);
+
+        // Assert
+        assertTrue(first.writing.await(5, TimeUnit.SECONDS));
+        assertTrue(second.writing.await(5, TimeUnit.SECONDS));
+        while (first.frames.isEmpty() || second.frames.isEmpty()) Thread.onSpinWait();
+        assertTrue(first.frames.get(0).contains("event:deleted"));
+        assertTrue(first.frames.get(0).contains("\"taskId\":\"" + taskId + "\""));
+        assertFalse(first.frames.get(0).contains("\"task\""));
+        assertEquals(first.frames, second.frames);
+        assertTrue(other.frames.isEmpty());
+        assertEquals(3.0, meterRegistry.get("task.events.subscribers").gauge().value());
+    }
+
+    @Test
+    void publish_shouldEvictSlowConsumer_withoutBlockingPublisher() throws InterruptedException {
+        // Arrange: the client stops reading while the first event is being written
+        UUID owner = UUID.randomUUID();
+        RecordingEmitter slow = new RecordingEmitter(true);
+        taskEventHub.subscribe(owner, slow);
+        taskEventHub.publish(owner, TaskEventHub.CREATED, UUID.randomUUID(), null);
+        assertTrue(slow.writing.await(5, TimeUnit.SECONDS));
+
+        // Act: buffer holds 2, the third pending event overflows it
+        for (int i = 0; i < 3; i++) {
+            taskEventHub.publish(owner, TaskEventHub.UPDATED, UUID.randomUUID(), null);
+        }
+
+        // Assert
+        assertEquals(0, taskEventHub.getSubscriberCount());
+        assertEquals(1.0, meterRegistry.get("task.events.evicted").counter().count());
+        slow.release.countDown();
+        while (!slow.completed) Thread.onSpinWait();
+        assertEquals(1, slow.frames.size());
+    }
+
+    @Test
+    void publish_shouldKeepDelivering_whenOtherSubscribersAreStalled() throws InterruptedException {
+        // Arrange: two clients stop reading in the middle of a write
+        UUID owner = UUID.randomUUID();
+        RecordingEmitter stalledA = new RecordingEmitter(true);
+        RecordingEmitter stalledB = new RecordingEmitter(true);
+        RecordingEmitter healthy = new RecordingEmitter(false);
+        taskEventHub.subscribe(owner, stalledA);
+        taskEventHub.subscribe(owner, stalledB);
+        taskEventHub.publish(owner, TaskEventHub.CREATED, UUID.randomUUID(), null);
+        assertTrue(stalledA.writing.await(5, TimeUnit.SECONDS));
+        assertTrue(stalledB.writing.await(5, TimeUnit.SECONDS));
+        taskEventHub.subscribe(owner, healthy);
+
+        // Act
+        taskEventHub.publish(owner, TaskEventHub.DELETED, UUID.randomUUID(), null);
+
+        // Assert
+        assertTrue(healthy.writing.await(5, TimeUnit.SECONDS));
+        while (healthy.frames.isEmpty()) Thread.onSpinWait();
+        assertTrue(healthy.frames.get(0).contains("event:deleted"));
+        stalledA.release.countDown();
+        stalledB.release.countDown();
+    }
+
+    @Test
+    void publish_shouldSkipSerialization_whenUserHasNoSubscribers() {
+        // Act
+        taskEventHub.publish(UUID.randomUUID(), TaskEventHub.CREATED, UUID.randomUUID(), null);
+
+        // Assert
+        assertEquals(0.0, meterRegistry.get("task.events.sent").counter().count());
+    }
+
+    @Test
+    void subscribe_shouldCommitTheResponse_beforeAnyEventOrHeartbeat() throws Exception {
+        // Arrange
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new EventsController(taskEventHub)).build();
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/events")).andReturn();
+
+        // Assert
+        assertTrue(result.getRequest().isAsyncStarted());
+        assertTrue(result.getResponse().isCommitted());
+        assertEquals("text/event-stream", result.getResponse().getContentType());
+        assertEquals(":\n\n", result.getResponse().getContentAsString());
+        assertEquals(1, taskEventHub.getSubscriberCount());
+    }
+}
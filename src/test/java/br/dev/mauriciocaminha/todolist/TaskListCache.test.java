@@ -0,0 +1,182 @@
+import br.dev.mauriciocaminha.todolist.entities.TaskModel;
+import br.dev.mauriciocaminha.todolist.entities.TaskPriority;
+import br.dev.mauriciocaminha.todolist.repository.TaskRepository;
+import br.dev.mauriciocaminha.todolist.service.TaskListCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TaskListCacheTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    private TaskRepository taskRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private TaskListCache taskListCache;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        taskListCache = new TaskListCache(taskRepository, 1 << 20, meterRegistry);
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    void list_shouldLoadOnce_andReturnFreshCopies() throws Exception {
+        // Arrange
+        TaskModel task = task("first", TaskPriority.HIGH, NOW);
+        when(taskRepository.findByUserId(userId)).thenReturn(List.of(task));
+
+        // Act
+        List<TaskModel> first = taskListCache.list(userId);
+        List<TaskModel> second = taskListCache.list(userId);
+
+        // Assert
+        assertEquals(List.of(task), first);
+        assertEquals(first, second);
+        assertNotSame(first.get(0), second.get(0));
+        verify(taskRepository, times(1)).findByUserId(userId);
+        assertEquals(1.0, meterRegistry.get("tasks.cache.requests").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void writes_shouldPatchCachedList_withoutReloading() throws Exception {
+        // Arrange
+        TaskModel kept = task("kept", TaskPriority.LOW, NOW);
+        TaskModel removed = task("removed", TaskPriority.LOW, NOW.plusSeconds(1));
+        when(taskRepository.findByUserId(userId)).thenReturn(List.of(kept, removed));
+        taskListCache.list(userId);
+
+        TaskModel created = task("created", TaskPriority.MEDIUM, NOW.plusSeconds(2));
+        TaskModel updated = task("renamed", TaskPriority.HIGH, NOW);
+        updated.setId(kept.getId());
+        updated.setUpdatedAt(NOW.plusMinutes(1));
+
+        // Act
+        taskListCache.onCreated(userId, created);
+        taskListCache.onUpdated(userId, updated);
+        taskListCache.onDeleted(userId, removed.getId());
+        List<TaskModel> result = taskListCache.list(userId);
+
+        // Assert
+        assertEquals(List.of(updated, created), result);
+        verify(taskRepository, times(1)).findByUserId(userId);
+    }
+
+    @Test
+    void onUpdated_shouldDropCachedList_whenOlderVersionCommitsLast() throws Exception {
+        // Arrange: the update stamped earlier took the row lock second, so it is what the database holds
+        TaskModel overwritten = task("overwritten", TaskPriority.LOW, NOW);
+        overwritten.setUpdatedAt(NOW.plusMinutes(5));
+        TaskModel committedLast = task("committed last", TaskPriority.LOW, NOW);
+        committedLast.setId(overwritten.getId());
+        committedLast.setUpdatedAt(NOW.plusMinutes(1));
+        when(taskRepository.findByUserId(userId)).thenReturn(List.of(overwritten), List.of(committedLast));
+        taskListCache.list(userId);
+
+        // Act
+        taskListCache.onUpdated(userId, committedLast);
+        List<TaskModel> result = taskListCache.list(userId);
+
+        // Assert
+        assertEquals("committed last", result.get(0).getTitle());
+        verify(taskRepository, times(2)).findByUserId(userId);
+    }
+
+    @Test
+    void list_shouldKeepDatesAfter2262() throws Exception {
+        // Arrange: nanos since the epoch no longer fit in a long past 2262-04-11
+        TaskModel task = task("far", TaskPriority.LOW, NOW);
+        task.setStartAt(LocalDateTime.of(2500, 1, 1, 10, 0, 0, 123_456_789));
+        task.setEndAt(LocalDateTime.of(2500, 1, 2, 10, 0));
+        when(taskRepository.findByUserId(userId)).thenReturn(List.of(task));
+        taskListCache.list(userId);
+
+        // Act
+        TaskModel cached = taskListCache.list(userId).get(0);
+
+        // Assert
+        assertEquals(LocalDateTime.of(2500, 1, 1, 10, 0, 0, 123_456_789), cached.getStartAt());
+        assertEquals(LocalDateTime.of(2500, 1, 2, 10, 0), cached.getEndAt());
+    }
+
+    @Test
+    void listByPriority_shouldFilterSnapshot_withoutPriorityQuery() throws Exception {
+        // Arrange
+        TaskModel high = task("high", TaskPriority.HIGH, NOW);
+        TaskModel low = task("low", TaskPriority.LOW, NOW.plusSeconds(1));
+        when(taskRepository.findByUserId(userId)).thenReturn(List.of(high, low));
+
+        // Act
+        List<TaskModel> highs = taskListCache.listByPriority(userId, TaskPriority.HIGH);
+        List<TaskModel> mediums = taskListCache.listByPriority(userId, TaskPriority.MEDIUM);
+
+        // Assert
+        assertEquals(List.of(high), highs);
+        assertTrue(mediums.isEmpty());
+        verify(taskRepository, times(1)).findByUserId(userId);
+        verify(taskRepository, never()).findByUserIdAndPriority(any(), any());
+    }
+
+    @Test
+    void list_shouldEvictLeastRecentlyUsedUser_whenOverByteBudget() throws Exception {
+        // Arrange: room for roughly one user's list
+        taskListCache = new TaskListCache(taskRepository, 400, meterRegistry);
+        UUID otherUserId = UUID.randomUUID();
+        when(taskRepository.findByUserId(userId)).thenReturn(List.of(task("mine", TaskPriority.LOW, NOW)));
+        TaskModel other = task("theirs", TaskPriority.LOW, NOW);
+        other.setUserId(otherUserId);
+        when(taskRepository.findByUserId(otherUserId)).thenReturn(List.of(other));
+
+        // Act
+        taskListCache.list(userId);
+        taskListCache.list(otherUserId);
+        taskListCache.list(userId);
+
+        // Assert
+        verify(taskRepository, times(2)).findByUserId(userId);
+        assertTrue(taskListCache.getTotalBytes() <= 400);
+        assertEquals(2.0, meterRegistry.get("tasks.cache.evictions").counter().count());
+    }
+
+    @Test
+    void list_shouldNotKeepLoad_thatRacedWithWrite() throws Exception {
+        // Arrange: a create commits while the first load is still reading
+        TaskModel created = task("created", TaskPriority.LOW, NOW);
+        when(taskRepository.findByUserId(userId)).thenAnswer(call -> {
+            taskListCache.onCreated(userId, created);
+            return List.of();
+        }).thenReturn(List.of(created));
+
+        // Act
+        List<TaskModel> first = taskListCache.list(userId);
+        List<TaskModel> second = taskListCache.list(userId);
+
+        // Assert
+        assertTrue(first.isEmpty());
+        assertEquals(List.of(created), second);
+    }
+
+    private TaskModel task(String title, TaskPriority priority, LocalDateTime createdAt) throws Exception {
+        TaskModel task = new TaskModel();
+        task.setId(UUID.randomUUID());
+        task.setUserId(userId);
+        task.setTitle(title);
+        task.setDescription("description");
+        task.setPriority(priority);
+        task.setStartAt(NOW.plusDays(1));
+        task.setEndAt(NOW.plusDays(2));
+        task.setCreatedAt(createdAt);
+        task.setUpdatedAt(createdAt);
+        return task;
+    }
+}
@@ -0,0 +1,45 @@
+import br.dev.mauriciocaminha.todolist.entities.TaskModel;
+import br.dev.mauriciocaminha.todolist.entities.TaskPriority;
+import br.dev.mauriciocaminha.todolist.entities.TaskPriorityConverter;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskPriorityTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void deserialize_shouldAcceptKnownPriorities_ignoringCase() throws Exception {
+        // Act
+        TaskModel task = objectMapper.readValue("{\"priority\":\"high\"}", TaskModel.class);
+
+        // Assert
+        assertEquals(TaskPriority.HIGH, task.getPriority());
+        assertTrue(objectMapper.writeValueAsString(task).contains("\"priority\":\"HIGH\""));
+    }
+
+    @Test
+    void deserialize_shouldReject_whenPriorityIsUnknown() {
+        // Act & Assert
+        JsonMappingException exception = assertThrows(JsonMappingException.class,
+                () -> objectMapper.readValue("{\"priority\":\"urgent\"}", TaskModel.class));
+        assertTrue(exception.getMessage().contains("Priority must be one of LOW, MEDIUM, HIGH."));
+    }
+
+    @Test
+    void converter_shouldStoreRank_soThatOrderingFollowsPriority() {
+        // Arrange
+        TaskPriorityConverter converter = new TaskPriorityConverter();
+
+        // Act & Assert
+        assertTrue(converter.convertToDatabaseColumn(TaskPriority.LOW) < converter.convertToDatabaseColumn(TaskPriority.MEDIUM));
+        assertTrue(converter.convertToDatabaseColumn(TaskPriority.MEDIUM) < converter.convertToDatabaseColumn(TaskPriority.HIGH));
+        for (TaskPriority priority : TaskPriority.values()) {
+            assertEquals(priority, converter.convertToEntityAttribute(converter.convertToDatabaseColumn(priority)));
+        }
+    }
+}
@@ -0,0 +1,134 @@
+import br.dev.mauriciocaminha.todolist.TodolistApplication;
+import br.dev.mauriciocaminha.todolist.entities.TaskModel;
+import br.dev.mauriciocaminha.todolist.entities.TaskPriority;
+import br.dev.mauriciocaminha.todolist.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ContextConfiguration(classes = TodolistApplication.class)
+public class TaskRepositoryTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private String explain(String where) {
+        return entityManager.createNativeQuery("EXPLAIN SELECT * FROM tb_tasks WHERE " + where)
+                .setParameter(1, UUID.randomUUID())
+                .getSingleResult()
+                .toString()
+                .toUpperCase();
+    }
+
+    @Test
+    void findByUserId_shouldUseAnIndexOnUserId() {
+        // Act
+        String plan = explain("user_id = ?1");
+
+        // Assert
+        assertTrue(plan.contains("IDX_TASKS_USER_"), plan);
+        assertFalse(plan.contains("TABLESCAN"), plan);
+    }
+
+    @Test
+    void keysetPage_shouldUseUserCreatedIndex() {
+        // Act
+        String plan = explain("user_id = ?1 AND created_at > CURRENT_TIMESTAMP ORDER BY created_at, id");
+
+        // Assert
+        assertTrue(plan.contains("IDX_TASKS_USER_CREATED"), plan);
+    }
+
+    @Test
+    void findByUserIdAndPriority_shouldUseUserPriorityIndex() {
+        // Act
+        String plan = explain("user_id = ?1 AND priority = 3");
+
+        // Assert
+        assertTrue(plan.contains("IDX_TASKS_USER_PRIORITY"), plan);
+    }
+
+    @Test
+    void findByUserIdAndEndAt_shouldUseUserEndAtIndex() {
+        // Act
+        String plan = explain("user_id = ?1 AND end_at < CURRENT_TIMESTAMP");
+
+        // Assert
+        assertTrue(plan.contains("IDX_TASKS_USER_END_AT"), plan);
+    }
+
+    private TaskModel persistTask(UUID userId) throws Exception {
+        TaskModel task = new TaskModel();
+        task.setUserId(userId);
+        task.setTitle("title");
+        task.setDescription("description");
+        task.setPriority(TaskPriority.LOW);
+        task.setStartAt(LocalDateTime.now().plusDays(1));
+        task.setEndAt(LocalDateTime.now().plusDays(2));
+        task = taskRepository.saveAndFlush(task);
+        entityManager.clear();
+        return task;
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    @Test
+    void ownershipCheckedWrites_shouldTakeOneStatementEach() throws Exception {
+        // Arrange
+        UUID owner = UUID.randomUUID();
+        TaskModel task = persistTask(owner);
+        Statistics statistics = statistics();
+
+        // Act & Assert
+        assertEquals(1, taskRepository.updateByIdAndUserId(task.getId(), owner, "new title", null, TaskPriority.HIGH, null, null, LocalDateTime.now()));
+        assertEquals(1, taskRepository.completeByIdAndUserId(task.getId(), owner, LocalDateTime.now()));
+        assertEquals(1, taskRepository.deleteByIdAndUserId(task.getId(), owner));
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void ownershipCheckedWrites_shouldAffectNoRow_whenUserIsNotOwner() throws Exception {
+        // Arrange
+        TaskModel task = persistTask(UUID.randomUUID());
+        UUID intruder = UUID.randomUUID();
+
+        // Act & Assert
+        assertEquals(0, taskRepository.updateByIdAndUserId(task.getId(), intruder, "hijacked", null, null, null, null, LocalDateTime.now()));
+        assertEquals(0, taskRepository.completeByIdAndUserId(task.getId(), intruder, LocalDateTime.now()));
+        assertEquals(0, taskRepository.deleteByIdAndUserId(task.getId(), intruder));
+        assertEquals("title", taskRepository.findById(task.getId()).orElseThrow().getTitle());
+    }
+
+    @Test
+    void updateByIdAndUserId_shouldKeepFieldsThatAreNull() throws Exception {
+        // Arrange
+        UUID owner = UUID.randomUUID();
+        TaskModel task = persistTask(owner);
+
+        // Act
+        taskRepository.updateByIdAndUserId(task.getId(), owner, null, "new description", null, null, null, LocalDateTime.now());
+
+        // Assert
+        TaskModel updated = taskRepository.findById(task.getId()).orElseThrow();
+        assertEquals("title", updated.getTitle());
+        assertEquals("new description", updated.getDescription());
+        assertEquals(TaskPriority.LOW, updated.getPriority());
+    }
+}
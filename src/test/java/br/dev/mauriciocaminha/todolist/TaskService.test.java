@@ -1,7 +1,11 @@
 import br.dev.mauriciocaminha.todolist.entities.TaskModel;
 import br.dev.mauriciocaminha.todolist.repository.TaskRepository;
-import br.dev.mauriciocaminha.todolist.service.NotificationService;
+import br.dev.mauriciocaminha.todolist.service.OutboxService;
+import br.dev.mauriciocaminha.todolist.service.TaskEventHub;
+import br.dev.mauriciocaminha.todolist.service.TaskListCache;
 import br.dev.mauriciocaminha.todolist.service.TaskService;
+import br.dev.mauriciocaminha.todolist.service.TaskVersions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import org.junit.Before;
 import org.junit.Test;
@@ -16,6 +20,7 @@ import java.util.UUID;
 
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 public class TaskServiceTest {
@@ -26,17 +31,27 @@ public class TaskServiceTest {
     private TaskRepository taskRepository;
 
     @Mock
-    private NotificationService notificationService;
+    private OutboxService outboxService;
+
+    @Mock
+    private TaskEventHub taskEventHub;
 
     @Mock
     private HttpServletRequest request;
 
+    private TaskVersions taskVersions;
+
     @Before
     public void setUp() {
         MockitoAnnotations.openMocks(this);
         taskService = new TaskService();
         taskService.taskRepository = taskRepository;
-        taskService.notificationService = notificationService;
+        taskService.outboxService = outboxService;
+        taskService.taskEventHub = taskEventHub;
+        TaskListCache taskListCache = new TaskListCache(taskRepository, 1 << 20, new SimpleMeterRegistry());
+        taskService.taskListCache = taskListCache;
+        taskVersions = new TaskVersions();
+        taskService.taskVersions = taskVersions;
     }
 
     @Test
@@ -53,7 +68,7 @@ public class TaskServiceTest {
 
         assertNotNull(result);
         assertEquals(taskModel, result);
-        verify(notificationService).notifyTaskCreated(userId, taskModel);
+        verify(outboxService).recordTaskCreated(userId, taskModel);
     }
 
     @Test(expected = IllegalArgumentException.class)
@@ -79,7 +94,9 @@ public class TaskServiceTest {
         UUID userId = UUID.randomUUID();
         when(request.getAttribute("userId")).thenReturn(userId);
         List<TaskModel> tasks = new ArrayList<>();
-        tasks.add(new TaskModel());
+        TaskModel task = new TaskModel();
+        task.setId(UUID.randomUUID());
+        tasks.add(task);
         when(taskRepository.findByUserId(userId)).thenReturn(tasks);
 
         List<TaskModel> result = taskService.listAllByUser(request);
@@ -93,7 +110,7 @@ public class TaskServiceTest {
         UUID taskId = UUID.randomUUID();
         TaskModel taskModel = new TaskModel();
         when(request.getAttribute("userId")).thenReturn(UUID.randomUUID());
-        when(taskRepository.findById(taskId)).thenReturn(java.util.Optional.empty());
+        when(taskRepository.existsById(taskId)).thenReturn(false);
 
         taskService.updateTask(taskId, taskModel, request);
     }
@@ -103,11 +120,8 @@ public class TaskServiceTest {
         UUID taskId = UUID.randomUUID();
         TaskModel taskModel = new TaskModel();
         UUID userId = UUID.randomUUID();
-        UUID taskUserId = UUID.randomUUID();
         when(request.getAttribute("userId")).thenReturn(userId);
-        when(taskRepository.findById(taskId)).thenReturn(java.util.Optional.of(new TaskModel() {{
-            setUserId(taskUserId);
-        }}));
+        when(taskRepository.existsById(taskId)).thenReturn(true);
 
         taskService.updateTask(taskId, taskModel, request);
     }
@@ -117,20 +131,21 @@ public class TaskServiceTest {
         UUID taskId = UUID.randomUUID();
         UUID userId = UUID.randomUUID();
         when(request.getAttribute("userId")).thenReturn(userId);
-        when(taskRepository.findById(taskId)).thenReturn(java.util.Optional.of(new TaskModel() {{
-            setUserId(userId);
-        }}));
+        when(taskRepository.deleteByIdAndUserId(taskId, userId)).thenReturn(1);
 
         taskService.deleteTask(taskId, request);
 
-        verify(taskRepository).deleteById(taskId);
+        verify(taskRepository).deleteByIdAndUserId(taskId, userId);
+        verify(taskRepository, never()).existsById(any());
+        verify(outboxService).recordTaskDeleted(userId, taskId);
+        verify(taskEventHub).publish(userId, TaskEventHub.DELETED, taskId, null);
     }
 
     @Test(expected = NoSuchElementException.class)
     public void deleteTask_shouldThrowException_whenTaskNotFound() {
         UUID taskId = UUID.randomUUID();
         when(request.getAttribute("userId")).thenReturn(UUID.randomUUID());
-        when(taskRepository.findById(taskId)).thenReturn(java.util.Optional.empty());
+        when(taskRepository.existsById(taskId)).thenReturn(false);
 
         taskService.deleteTask(taskId, request);
     }
@@ -139,11 +154,8 @@ public class TaskServiceTest {
     public void deleteTask_shouldThrowException_whenUserDoesNotOwnTask() {
         UUID taskId = UUID.randomUUID();
         UUID userId = UUID.randomUUID();
-        UUID taskUserId = UUID.randomUUID();
         when(request.getAttribute("userId")).thenReturn(userId);
-        when(taskRepository.findById(taskId)).thenReturn(java.util.Optional.of(new TaskModel() {{
-            setUserId(taskUserId);
-        }}));
+        when(taskRepository.existsById(taskId)).thenReturn(true);
 
         taskService.deleteTask(taskId, request);
     }
@@ -154,21 +166,24 @@ public class TaskServiceTest {
         UUID userId = UUID.randomUUID();
         TaskModel task = new TaskModel();
         task.setUserId(userId);
+        task.setEndAt(LocalDateTime.now());
         when(request.getAttribute("userId")).thenReturn(userId);
+        when(taskRepository.completeByIdAndUserId(eq(taskId), eq(userId), any(LocalDateTime.class))).thenReturn(1);
         when(taskRepository.findById(taskId)).thenReturn(java.util.Optional.of(task));
 
         TaskModel result = taskService.markAsCompleted(taskId, request);
 
         assertNotNull(result);
         assertNotNull(result.getEndAt());
-        verify(taskRepository).save(task);
+        verify(taskRepository).completeByIdAndUserId(eq(taskId), eq(userId), any(LocalDateTime.class));
+        verify(taskRepository, never()).save(any());
     }
 
     @Test(expected = NoSuchElementException.class)
     public void markAsCompleted_shouldThrowException_whenTaskNotFound() {
         UUID taskId = UUID.randomUUID();
         when(request.getAttribute("userId")).thenReturn(UUID.randomUUID());
-        when(taskRepository.findById(taskId)).thenReturn(java.util.Optional.empty());
+        when(taskRepository.existsById(taskId)).thenReturn(false);
 
         taskService.markAsCompleted(taskId, request);
     }
@@ -177,11 +192,8 @@ public class TaskServiceTest {
     public void markAsCompleted_shouldThrowException_whenUserDoesNotOwnTask() {
         UUID taskId = UUID.randomUUID();
         UUID userId = UUID.randomUUID();
-        UUID taskUserId = UUID.randomUUID();
         when(request.getAttribute("userId")).thenReturn(userId);
-        when(taskRepository.findById(taskId)).thenReturn(java.util.Optional.of(new TaskModel() {{
-            setUserId(taskUserId);
-        }}));
+        when(taskRepository.existsById(taskId)).thenReturn(true);
 
         taskService.markAsCompleted(taskId, request);
     }
@@ -0,0 +1,217 @@
+import br.dev.mauriciocaminha.todolist.entities.TaskModel;
+import br.dev.mauriciocaminha.todolist.entities.TaskPriority;
+import br.dev.mauriciocaminha.todolist.repository.TaskRepository;
+import br.dev.mauriciocaminha.todolist.service.OutboxService;
+import br.dev.mauriciocaminha.todolist.service.TaskBatchResult;
+import br.dev.mauriciocaminha.todolist.service.TaskEventHub;
+import br.dev.mauriciocaminha.todolist.service.TaskListCache;
+import br.dev.mauriciocaminha.todolist.service.TaskPage;
+import br.dev.mauriciocaminha.todolist.service.TaskService;
+import br.dev.mauriciocaminha.todolist.service.TaskVersions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+// Paging, cached listings, conditional writes, list versions and batches of TaskService
+public class TaskServiceFeaturesTest {
+
+    private TaskService taskService;
+    private TaskRepository taskRepository;
+    private OutboxService outboxService;
+    private TaskVersions taskVersions;
+    private HttpServletRequest request;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        outboxService = mock(OutboxService.class);
+        taskVersions = new TaskVersions();
+        request = mock(HttpServletRequest.class);
+        userId = UUID.randomUUID();
+        when(request.getAttribute("userId")).thenReturn(userId);
+
+        taskService = new TaskService();
+        ReflectionTestUtils.setField(taskService, "taskRepository", taskRepository);
+        ReflectionTestUtils.setField(taskService, "outboxService", outboxService);
+        ReflectionTestUtils.setField(taskService, "taskEventHub", mock(TaskEventHub.class));
+        ReflectionTestUtils.setField(taskService, "taskListCache", new TaskListCache(taskRepository, 1 << 20, new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(taskService, "taskVersions", taskVersions);
+    }
+
+    @Test
+    void listPageByUser_shouldReturnCursorForNextPage_whenMoreTasksExist() {
+        // Arrange
+        TaskModel last = new TaskModel();
+        last.setId(UUID.randomUUID());
+        last.setCreatedAt(LocalDateTime.of(2030, 1, 1, 10, 0, 0, 123456000));
+        when(taskRepository.findByUserIdOrderByCreatedAtAscIdAsc(eq(userId), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(new TaskModel(), last), Pageable.ofSize(2), true));
+        when(taskRepository.findByUserIdAfter(eq(userId), eq(last.getCreatedAt()), eq(last.getId()), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(new TaskModel()), Pageable.ofSize(2), false));
+
+        // Act
+        TaskPage first = taskService.listPageByUser(null, 2, request);
+        TaskPage second = taskService.listPageByUser(first.nextCursor(), 2, request);
+
+        // Assert
+        assertEquals(2, first.items().size());
+        assertNotNull(first.nextCursor());
+        assertEquals(1, second.items().size());
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    void listPageByUser_shouldThrowException_whenLimitIsOutOfBounds() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> taskService.listPageByUser(null, 100000, request));
+    }
+
+    @Test
+    void listPageByUser_shouldThrowException_whenCursorIsMalformed() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> taskService.listPageByUser("not-a-cursor", 10, request));
+    }
+
+    @Test
+    void listByPriority_shouldFilterCachedList() {
+        // Arrange
+        TaskModel high = new TaskModel();
+        high.setId(UUID.randomUUID());
+        high.setPriority(TaskPriority.HIGH);
+        TaskModel low = new TaskModel();
+        low.setId(UUID.randomUUID());
+        low.setPriority(TaskPriority.LOW);
+        when(taskRepository.findByUserId(userId)).thenReturn(List.of(high, low));
+
+        // Act
+        List<TaskModel> result = taskService.listByPriority("high", request);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(high.getId(), result.get(0).getId());
+        verify(taskRepository, never()).findByUserIdAndPriority(any(), any());
+    }
+
+    @Test
+    void listByPriority_shouldThrowException_whenPriorityIsUnknown() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> taskService.listByPriority("urgent", request));
+    }
+
+    @Test
+    void updateTask_shouldIssueSingleConditionalUpdate_whenUserIsOwner() throws Exception {
+        // Arrange
+        UUID taskId = UUID.randomUUID();
+        TaskModel patch = new TaskModel();
+        patch.setTitle("new title");
+        TaskModel stored = new TaskModel();
+        stored.setTitle("new title");
+        when(taskRepository.updateByIdAndUserId(eq(taskId), eq(userId), eq("new title"), isNull(), isNull(), isNull(), isNull(), any(LocalDateTime.class))).thenReturn(1);
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(stored));
+
+        // Act
+        TaskModel result = taskService.updateTask(taskId, patch, request);
+
+        // Assert
+        assertEquals("new title", result.getTitle());
+        verify(taskRepository, never()).save(any());
+        verify(taskRepository, never()).existsById(any());
+    }
+
+    @Test
+    void listVersion_shouldChangeOnWrites_butNotOnReads() {
+        // Arrange
+        UUID taskId = UUID.randomUUID();
+        when(taskRepository.deleteByIdAndUserId(taskId, userId)).thenReturn(1);
+        String initial = taskVersions.etag(userId);
+
+        // Act
+        taskService.listAllByUser(request);
+        String afterRead = taskVersions.etag(userId);
+        taskService.deleteTask(taskId, request);
+        String afterDelete = taskVersions.etag(userId);
+
+        // Assert
+        assertEquals(initial, afterRead);
+        assertNotEquals(initial, afterDelete);
+    }
+
+    @Test
+    void createBatch_shouldSaveValidTasksInOneCall_andRejectInvalidOnes() throws Exception {
+        // Arrange
+        TaskModel valid = validTask();
+        TaskModel missingTitle = new TaskModel();
+        when(taskRepository.saveAll(List.of(valid))).thenReturn(List.of(valid));
+
+        // Act
+        List<TaskBatchResult> result = taskService.createBatch(List.of(missingTitle, valid), request);
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals(400, result.get(0).status());
+        assertEquals(0, result.get(0).index());
+        assertEquals(201, result.get(1).status());
+        assertEquals(1, result.get(1).index());
+        assertEquals(userId, valid.getUserId());
+        verify(taskRepository, never()).save(any());
+        verify(outboxService).recordTasksCreated(userId, List.of(valid));
+    }
+
+    @Test
+    void createBatch_shouldThrowException_whenBatchIsTooLarge() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.createBatch(Collections.nCopies(1001, new TaskModel()), request));
+    }
+
+    @Test
+    void createBatch_shouldRejectItemsOverTheColumnLengths_beforeSaving() throws Exception {
+        // Arrange: setTitle already refuses long titles, so the field is set directly as a mapper bypassing it would
+        TaskModel valid = validTask();
+        TaskModel longTitle = validTask();
+        ReflectionTestUtils.setField(longTitle, "title", "t".repeat(51));
+        TaskModel longDescription = validTask();
+        longDescription.setDescription("d".repeat(256));
+        when(taskRepository.saveAll(List.of(valid))).thenReturn(List.of(valid));
+
+        // Act
+        List<TaskBatchResult> result = taskService.createBatch(List.of(valid, longTitle, longDescription), request);
+
+        // Assert
+        assertEquals(201, result.get(0).status());
+        assertEquals(400, result.get(1).status());
+        assertEquals(1, result.get(1).index());
+        assertTrue(result.get(1).error().contains("Title"), result.get(1).error());
+        assertEquals(400, result.get(2).status());
+        assertEquals(2, result.get(2).index());
+        assertTrue(result.get(2).error().contains("Description"), result.get(2).error());
+        verify(taskRepository).saveAll(List.of(valid));
+    }
+
+    private static TaskModel validTask() throws Exception {
+        TaskModel task = new TaskModel();
+        task.setTitle("title");
+        task.setDescription("description");
+        task.setPriority(TaskPriority.LOW);
+        task.setStartAt(LocalDateTime.now().plusDays(1));
+        task.setEndAt(LocalDateTime.now().plusDays(2));
+        return task;
+    }
+}
@@ -0,0 +1,130 @@
+import br.dev.mauriciocaminha.todolist.errors.TooManyRequestsException;
+import br.dev.mauriciocaminha.todolist.service.LoginThrottle;
+import br.dev.mauriciocaminha.todolist.utils.TokenBucketLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenBucketLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void tryAcquire_shouldAllowBurst_thenReportWaitUntilRefill() {
+        // Arrange
+        TokenBucketLimiter limiter = new TokenBucketLimiter(3, Duration.ofSeconds(1), 4, 100);
+        long now = 1_000 * SECOND;
+
+        // Act
+        long first = limiter.tryAcquire("john", now);
+        long second = limiter.tryAcquire("john", now);
+        long third = limiter.tryAcquire("john", now);
+        long refused = limiter.tryAcquire("john", now);
+        long afterRefill = limiter.tryAcquire("john", now + SECOND);
+
+        // Assert
+        assertEquals(0, first);
+        assertEquals(0, second);
+        assertEquals(0, third);
+        assertEquals(SECOND, refused);
+        assertEquals(0, afterRefill);
+    }
+
+    @Test
+    void tryAcquire_shouldKeepKeysIndependent() {
+        // Arrange
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, Duration.ofMinutes(1), 4, 100);
+        long now = 1_000 * SECOND;
+
+        // Act
+        limiter.tryAcquire("john", now);
+
+        // Assert
+        assertTrue(limiter.tryAcquire("john", now) > 0);
+        assertEquals(0, limiter.tryAcquire("mary", now));
+    }
+
+    @Test
+    void tryAcquire_shouldStayBounded_whenKeysKeepComing() {
+        // Arrange
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, Duration.ofMinutes(1), 4, 100);
+        long now = 1_000 * SECOND;
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            limiter.tryAcquire("user-" + i, now);
+        }
+
+        // Assert
+        assertTrue(limiter.size() <= 100);
+        assertTrue(limiter.getEvictions() > 0);
+    }
+
+    @Test
+    void tryAcquire_shouldNeverHandOutMoreThanCapacity_underContention() throws Exception {
+        // Arrange
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1_000, Duration.ofHours(1), 4, 100);
+        long now = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            // Act
+            var results = new ArrayList<Future<Integer>>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> {
+                    int granted = 0;
+                    for (int i = 0; i < 1_000; i++) {
+                        if (limiter.tryAcquire("john", now) == 0) granted++;
+                    }
+                    return granted;
+                }));
+            }
+            int granted = 0;
+            for (var result : results) {
+                granted += result.get();
+            }
+
+            // Assert
+            assertEquals(1_000, granted);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void loginThrottle_shouldRefuseUsername_acrossClients_withRetryAfter() {
+        // Arrange
+        LoginThrottle throttle = new LoginThrottle(true, 100, Duration.ofSeconds(1), 2, Duration.ofSeconds(30), 1_000,
+                new SimpleMeterRegistry());
+        throttle.check("10.0.0.1", "john");
+        throttle.check("10.0.0.2", "john");
+
+        // Act
+        TooManyRequestsException refused = assertThrows(TooManyRequestsException.class,
+                () -> throttle.check("10.0.0.3", "john"));
+
+        // Assert
+        assertTrue(refused.getRetryAfterSeconds() >= 29 && refused.getRetryAfterSeconds() <= 30);
+        assertDoesNotThrow(() -> throttle.check("10.0.0.3", "mary"));
+    }
+
+    @Test
+    void loginThrottle_shouldKeepLongUsernamesApart_whenTheyShareAPrefix() {
+        // Arrange: two names within the 255-character column that only differ after their first 200
+        LoginThrottle throttle = new LoginThrottle(true, 100, Duration.ofSeconds(1), 1, Duration.ofSeconds(30), 1_000,
+                new SimpleMeterRegistry());
+        String prefix = "a".repeat(200);
+        throttle.check("10.0.0.1", prefix + "-attacker");
+
+        // Act & Assert
+        assertThrows(TooManyRequestsException.class, () -> throttle.check("10.0.0.1", prefix + "-attacker"));
+        assertDoesNotThrow(() -> throttle.check("10.0.0.2", prefix + "-victim"));
+    }
+}
@@ -0,0 +1,95 @@
+import br.dev.mauriciocaminha.todolist.service.TokenService;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenServiceTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+
+    private final Clock clock = Clock.fixed(Instant.parse("2030-01-01T00:00:00Z"), ZoneOffset.UTC);
+    private final TokenService tokenService = new TokenService(SECRET, Duration.ofMinutes(15), clock);
+
+    @Test
+    void verify_shouldReturnUserId_whenTokenIsValid() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        String token = tokenService.issue(userId);
+
+        // Act & Assert
+        assertEquals(userId, tokenService.verify(token));
+        assertEquals(userId, tokenService.verify("Bearer " + token, 7, token.length() + 7));
+    }
+
+    @Test
+    void verify_shouldReturnNull_whenTokenExpired() {
+        // Arrange
+        String token = tokenService.issue(UUID.randomUUID());
+        TokenService later = new TokenService(SECRET, Duration.ofMinutes(15), Clock.offset(clock, Duration.ofMinutes(16)));
+
+        // Act & Assert
+        assertNull(later.verify(token));
+    }
+
+    @Test
+    void verify_shouldReturnNull_whenSignedWithAnotherSecret() {
+        // Arrange
+        String token = new TokenService("", Duration.ofMinutes(15), clock).issue(UUID.randomUUID());
+
+        // Act & Assert
+        assertNull(tokenService.verify(token));
+    }
+
+    @Test
+    void verify_shouldReturnNull_whenTokenIsTamperedOrMalformed() {
+        // Arrange
+        String token = tokenService.issue(UUID.randomUUID());
+        char first = token.charAt(0);
+        String tampered = (first == 'A' ? 'B' : 'A') + token.substring(1);
+
+        // Act & Assert
+        assertNull(tokenService.verify(tampered));
+        assertNull(tokenService.verify(token.substring(1)));
+        assertNull(tokenService.verify(token.replace('.', '!')));
+        assertNull(tokenService.verify(token.substring(0, token.length() - 1) + "é"));
+        assertNull(tokenService.verify(""));
+    }
+
+    @Test
+    void verify_shouldStayCorrect_whenSharedAcrossManyVirtualThreads() throws Exception {
+        // Arrange: scratch buffers are pooled, so concurrent callers must never see each other's bytes
+        List<UUID> userIds = new ArrayList<>();
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            UUID userId = UUID.randomUUID();
+            userIds.add(userId);
+            tokens.add(tokenService.issue(userId));
+        }
+
+        // Act
+        List<Future<Boolean>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 2000; i++) {
+                int index = i % tokens.size();
+                results.add(executor.submit(() -> userIds.get(index).equals(tokenService.verify(tokens.get(index)))));
+            }
+        }
+
+        // Assert
+        for (Future<Boolean> result : results) {
+            assertTrue(result.get());
+        }
+    }
+}
@@ -0,0 +1,140 @@
+import br.dev.mauriciocaminha.todolist.entities.UserModel;
+import br.dev.mauriciocaminha.todolist.repository.UserRepository;
+import br.dev.mauriciocaminha.todolist.service.UserCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class UserCacheTest {
+
+    private UserRepository userRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private UserCache userCache;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        userCache = new UserCache(userRepository, Duration.ofMinutes(1), Duration.ofMinutes(1), 2, meterRegistry);
+    }
+
+    @Test
+    void findByUsername_shouldHitDatabaseOnce_forRepeatedLookups() {
+        // Arrange
+        UserModel user = user(UUID.randomUUID(), "john", "hash");
+        when(userRepository.findByUsername("john")).thenReturn(user);
+
+        // Act
+        UserModel first = userCache.findByUsername("john");
+        UserModel second = userCache.findByUsername("john");
+
+        // Assert
+        assertEquals(user, first);
+        assertEquals(user, second);
+        assertNotSame(first, second);
+        verify(userRepository, times(1)).findByUsername("john");
+        assertEquals(0.5, meterRegistry.get("users.cache.hit.ratio").gauge().value());
+    }
+
+    @Test
+    void findByUsername_shouldCacheMisses_untilInvalidated() {
+        // Arrange
+        when(userRepository.findByUsername("ghost")).thenReturn(null);
+
+        // Act
+        assertNull(userCache.findByUsername("ghost"));
+        assertNull(userCache.findByUsername("ghost"));
+        userCache.invalidate("ghost");
+        when(userRepository.findByUsername("ghost")).thenReturn(user(UUID.randomUUID(), "ghost", "hash"));
+
+        // Assert
+        assertNotNull(userCache.findByUsername("ghost"));
+        verify(userRepository, times(2)).findByUsername("ghost");
+    }
+
+    @Test
+    void findByUsername_shouldEvictLeastRecentlyUsed_whenFull() {
+        // Arrange
+        when(userRepository.findByUsername(anyString())).thenAnswer(call -> user(UUID.randomUUID(), call.getArgument(0), "hash"));
+        userCache.findByUsername("a");
+        userCache.findByUsername("b");
+        userCache.findByUsername("a");
+
+        // Act
+        userCache.findByUsername("c");
+        userCache.findByUsername("a");
+        userCache.findByUsername("b");
+
+        // Assert: "b" was the eldest when "c" arrived
+        verify(userRepository, times(1)).findByUsername("a");
+        verify(userRepository, times(2)).findByUsername("b");
+        assertEquals(2, userCache.size());
+        assertTrue(meterRegistry.get("users.cache.evictions").counter().count() >= 1);
+    }
+
+    @Test
+    void findByUsername_shouldNeverServeStaleHash_afterInvalidationReturns() throws Exception {
+        // Arrange: the "database" is a versioned hash; reads are slow so they straddle updates
+        UUID userId = UUID.randomUUID();
+        AtomicReference<String> storedHash = new AtomicReference<>("v0");
+        AtomicLong committed = new AtomicLong();
+        when(userRepository.findByUsername("john")).thenAnswer(call -> {
+            String hash = storedHash.get();
+            Thread.sleep(0, 200_000);
+            return user(userId, "john", hash);
+        });
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Future<String>> readers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int r = 0; r < 8; r++) {
+                readers.add(executor.submit(() -> {
+                    while (running.get()) {
+                        // Anything committed and invalidated before the lookup started must be visible
+                        long minimum = committed.get();
+                        long seen = Long.parseLong(userCache.findByUsername("john").getPassword().substring(1));
+                        if (seen < minimum) return "read v" + seen + " after v" + minimum + " was committed";
+                    }
+                    return null;
+                }));
+            }
+
+            // Act: writer commits a new hash, then invalidates, as UserService.updateUser does
+            for (int version = 1; version <= 500; version++) {
+                storedHash.set("v" + version);
+                userCache.invalidate("john");
+                committed.set(version);
+                Thread.sleep(0, 100_000);
+            }
+            running.set(false);
+        }
+
+        // Assert
+        for (Future<String> reader : readers) {
+            assertNull(reader.get());
+        }
+        assertEquals("v500", userCache.findByUsername("john").getPassword());
+    }
+
+    private static UserModel user(UUID id, String username, String hash) {
+        UserModel user = new UserModel();
+        user.setId(id);
+        user.setUsername(username);
+        user.setPassword(hash);
+        return user;
+    }
+}
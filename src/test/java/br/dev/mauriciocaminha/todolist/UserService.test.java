@@ -1,12 +1,19 @@
 import br.dev.mauriciocaminha.todolist.entities.UserModel;
 import br.dev.mauriciocaminha.todolist.repository.UserRepository;
+import br.dev.mauriciocaminha.todolist.service.AuthenticationService;
+import br.dev.mauriciocaminha.todolist.service.CredentialCache;
+import br.dev.mauriciocaminha.todolist.service.TokenService;
+import br.dev.mauriciocaminha.todolist.service.UserCache;
 import br.dev.mauriciocaminha.todolist.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,12 +27,24 @@ public class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private CredentialCache credentialCache;
+
+    @Mock
+    private AuthenticationService authenticationService;
+
+    @Mock
+    private TokenService tokenService;
+
     @InjectMocks
     private UserService userService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        // Real cache over the mocked repository, so lookups still reach the stubs
+        ReflectionTestUtils.setField(userService, "userCache",
+                new UserCache(userRepository, Duration.ofMinutes(1), Duration.ofSeconds(10), 100, new SimpleMeterRegistry()));
     }
 
     @Test
@@ -52,6 +71,7 @@ public class UserServiceTest {
 
         when(userRepository.findByUsername("john")).thenReturn(null);
         when(userRepository.save(any(UserModel.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(authenticationService.hashPassword("password")).thenReturn("hashed");
 
         // Act
         UserModel createdUser = userService.create(newUser);
@@ -59,6 +79,7 @@ public class UserServiceTest {
         // Assert
         assertNotNull(createdUser);
         assertEquals("john", createdUser.getUsername());
+        assertEquals("hashed", createdUser.getPassword());
         verify(userRepository).save(any(UserModel.class));
     }
 
@@ -126,6 +147,7 @@ public class UserServiceTest {
 
         // Assert
         verify(userRepository).deleteById(userId);
+        verify(credentialCache).invalidate(userId);
     }
 
     @Test
@@ -152,6 +174,7 @@ public class UserServiceTest {
         incomingUser.setPassword("newPassword");
 
         when(userRepository.save(any(UserModel.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(authenticationService.hashPassword("newPassword")).thenReturn("hashed");
 
         // Act
         UserModel updatedUser = userService.updateUser(userId, incomingUser);
@@ -160,7 +183,9 @@ public class UserServiceTest {
         assertNotNull(updatedUser);
         assertEquals("john", updatedUser.getUsername());
         assertNotEquals("oldPassword", updatedUser.getPassword());
+        assertEquals("hashed", updatedUser.getPassword());
         verify(userRepository).save(any(UserModel.class));
+        verify(credentialCache).invalidate(userId);
     }
 
     @Test
@@ -175,4 +200,43 @@ public class UserServiceTest {
         NoSuchElementException exception = assertThrows(NoSuchElementException.class, () -> userService.updateUser(userId, incomingUser));
         assertEquals("User not found.", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void login_shouldIssueToken_whenCredentialsAreValid() {
+        // Arrange
+        UserModel user = new UserModel();
+        user.setUsername("john");
+        when(userRepository.findByUsername("john")).thenReturn(user);
+        when(authenticationService.verifyPassword(user, "password")).thenReturn(true);
+        when(tokenService.issue(user.getId())).thenReturn("token");
+
+        // Act
+        String token = userService.login("john", "password");
+
+        // Assert
+        assertEquals("token", token);
+    }
+
+    @Test
+    void login_shouldThrowException_whenPasswordDoesNotMatch() {
+        // Arrange
+        UserModel user = new UserModel();
+        when(userRepository.findByUsername("john")).thenReturn(user);
+        when(authenticationService.verifyPassword(user, "wrong")).thenReturn(false);
+
+        // Act & Assert
+        SecurityException exception = assertThrows(SecurityException.class, () -> userService.login("john", "wrong"));
+        assertEquals("Invalid credentials.", exception.getMessage());
+        verify(tokenService, never()).issue(any());
+    }
+
+    @Test
+    void login_shouldThrowException_whenUserDoesNotExist() {
+        // Arrange
+        when(userRepository.findByUsername("john")).thenReturn(null);
+
+        // Act & Assert
+        assertThrows(SecurityException.class, () -> userService.login("john", "password"));
+        verify(authenticationService, never()).verifyPassword(any(), any());
+    }
+}